@@ -0,0 +1,14 @@
+package iam.sinny.springboottesting.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Delivers {@link EmployeeCacheInvalidation}s to every node, including the sender, e.g. over Redis pub/sub or a
+ * message broker. Delivery may be late or duplicated; the shared tier's versions keep the caches correct anyway.
+ */
+public interface CacheInvalidationTransport {
+
+    void publish(EmployeeCacheInvalidation invalidation);
+
+    void subscribe(Consumer<EmployeeCacheInvalidation> listener);
+}
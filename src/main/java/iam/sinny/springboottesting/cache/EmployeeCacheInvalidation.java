@@ -0,0 +1,7 @@
+package iam.sinny.springboottesting.cache;
+
+/**
+ * Broadcast after an employee was written: entries older than {@code version} must be dropped.
+ */
+public record EmployeeCacheInvalidation(String nodeId, long employeeId, long version) {
+}
@@ -0,0 +1,118 @@
+package iam.sinny.springboottesting.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import iam.sinny.springboottesting.model.Employee;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.function.LongFunction;
+
+/**
+ * Two-level cache of the serialized UTF-8 JSON of hot employees, so repeated reads skip both the database
+ * and Jackson: a bounded near cache in this JVM in front of the {@link SharedEmployeeCache} of all nodes.
+ * <p>
+ * Entries must be invalidated whenever the employee is written. An invalidation bumps the employee's version in
+ * the shared tier and is broadcast to the other nodes' near caches over the {@link CacheInvalidationTransport}.
+ * Every entry carries the version it was loaded at, and a load only populates the caches if no write happened
+ * since it read the version, so a slow read can never overwrite a newer write with stale bytes.
+ * <p>
+ * Without {@link SharedEmployeeCache} and {@link CacheInvalidationTransport} beans the tiers are in-JVM, which is
+ * right for a single node; a cluster declares its own beans.
+ */
+@Component
+public class EmployeeJsonCache {
+
+    private final ObjectMapper objectMapper;
+
+    private final Cache<Long, VersionedJson> nearCache;
+
+    private final SharedEmployeeCache sharedCache;
+
+    private final CacheInvalidationTransport transport;
+
+    private final String nodeId;
+
+    @Autowired
+    public EmployeeJsonCache(ObjectMapper objectMapper,
+                             @Value("${employees.json-cache.maximum-size:10000}") long maximumSize,
+                             ObjectProvider<SharedEmployeeCache> sharedCache,
+                             @Value("${employees.json-cache.shared.maximum-size:100000}") long sharedMaximumSize,
+                             ObjectProvider<CacheInvalidationTransport> transport,
+                             @Value("${employees.json-cache.node-id:#{T(java.util.UUID).randomUUID().toString()}}") String nodeId) {
+        this(objectMapper, maximumSize,
+                sharedCache.getIfAvailable(() -> new InMemorySharedEmployeeCache(sharedMaximumSize)),
+                transport.getIfAvailable(LoopbackCacheInvalidationTransport::new),
+                nodeId);
+    }
+
+    public EmployeeJsonCache(ObjectMapper objectMapper, long maximumSize, SharedEmployeeCache sharedCache,
+                             CacheInvalidationTransport transport, String nodeId) {
+        this.objectMapper = objectMapper;
+        this.nearCache = Caffeine.newBuilder().maximumSize(maximumSize).build();
+        this.sharedCache = sharedCache;
+        this.transport = transport;
+        this.nodeId = nodeId;
+        transport.subscribe(this::onInvalidation);
+    }
+
+    /**
+     * Returns the cached JSON from the near cache, then the shared tier, serializing and caching what the loader
+     * returns on a miss. Missing employees are not cached.
+     */
+    public Optional<byte[]> get(long id, LongFunction<Optional<Employee>> loader) {
+        VersionedJson near = nearCache.getIfPresent(id);
+        if (near != null && near.isPresent()) {
+            return Optional.of(near.json());
+        }
+
+        Optional<VersionedJson> shared = sharedCache.get(id);
+        if (shared.isPresent()) {
+            putNear(id, shared.get());
+            return Optional.of(shared.get().json());
+        }
+
+        // read the version before the database, so a write racing with this load makes putIfCurrent fail
+        long version = sharedCache.version(id);
+        Optional<byte[]> json = loader.apply(id).map(this::serialize);
+        json.filter(bytes -> sharedCache.putIfCurrent(id, version, bytes))
+                .ifPresent(bytes -> putNear(id, new VersionedJson(version, bytes)));
+        return json;
+    }
+
+    public void invalidate(long id) {
+        long version = sharedCache.bumpVersion(id);
+        putNear(id, VersionedJson.invalidated(version));
+        transport.publish(new EmployeeCacheInvalidation(nodeId, id, version));
+    }
+
+    private void onInvalidation(EmployeeCacheInvalidation invalidation) {
+        if (!nodeId.equals(invalidation.nodeId())) {
+            putNear(invalidation.employeeId(), VersionedJson.invalidated(invalidation.version()));
+        }
+    }
+
+    /**
+     * Keeps whichever of the cached and the given entry has the higher version. On a tie the json wins: it was
+     * loaded after the write that produced the invalidation of the same version.
+     */
+    private void putNear(long id, VersionedJson entry) {
+        nearCache.asMap().merge(id, entry, (cached, candidate) ->
+                cached.version() > candidate.version() || (cached.version() == candidate.version() && cached.isPresent())
+                        ? cached
+                        : candidate);
+    }
+
+    private byte[] serialize(Employee employee) {
+        try {
+            return objectMapper.writeValueAsBytes(employee);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize employee " + employee.getId(), e);
+        }
+    }
+}
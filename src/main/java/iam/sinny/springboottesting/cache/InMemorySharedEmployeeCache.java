@@ -0,0 +1,64 @@
+package iam.sinny.springboottesting.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shared tier kept in this JVM: the default for a single node, and the "shared" tier of several in-process nodes
+ * in tests. Bounded, so an employee that has not been read or written for long may be evicted.
+ * <p>
+ * Versions come from one counter for all employees, and an employee without an entry reads as the highest version
+ * evicted so far. A version therefore never goes backwards when an entry is evicted, and a write after an eviction
+ * still outranks whatever the near caches kept from before it.
+ */
+public class InMemorySharedEmployeeCache implements SharedEmployeeCache {
+
+    private final AtomicLong versions = new AtomicLong();
+
+    private final AtomicLong evictedVersion = new AtomicLong();
+
+    private final ConcurrentMap<Long, VersionedJson> entries;
+
+    public InMemorySharedEmployeeCache(long maximumSize) {
+        this(maximumSize, ForkJoinPool.commonPool());
+    }
+
+    InMemorySharedEmployeeCache(long maximumSize, Executor executor) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .executor(executor)
+                // runs within the removal, before a reader can see the entry missing
+                .<Long, VersionedJson>evictionListener((id, entry, cause) ->
+                        evictedVersion.accumulateAndGet(entry.version(), Math::max))
+                .build()
+                .asMap();
+    }
+
+    @Override
+    public long version(long id) {
+        VersionedJson entry = entries.get(id);
+        return entry == null ? evictedVersion.get() : entry.version();
+    }
+
+    @Override
+    public long bumpVersion(long id) {
+        return entries.compute(id, (key, entry) -> VersionedJson.invalidated(versions.incrementAndGet())).version();
+    }
+
+    @Override
+    public Optional<VersionedJson> get(long id) {
+        return Optional.ofNullable(entries.get(id)).filter(VersionedJson::isPresent);
+    }
+
+    @Override
+    public boolean putIfCurrent(long id, long version, byte[] json) {
+        VersionedJson stored = entries.compute(id, (key, entry) ->
+                (entry == null ? evictedVersion.get() : entry.version()) == version ? new VersionedJson(version, json) : entry);
+        return stored != null && stored.json() == json;
+    }
+}
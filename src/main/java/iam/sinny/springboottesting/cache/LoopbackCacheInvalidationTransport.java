@@ -0,0 +1,24 @@
+package iam.sinny.springboottesting.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-JVM transport delivering synchronously to every subscriber. Used for a single node, and to run several
+ * {@link EmployeeJsonCache} "nodes" against each other in one process.
+ */
+public class LoopbackCacheInvalidationTransport implements CacheInvalidationTransport {
+
+    private final List<Consumer<EmployeeCacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(EmployeeCacheInvalidation invalidation) {
+        listeners.forEach(listener -> listener.accept(invalidation));
+    }
+
+    @Override
+    public void subscribe(Consumer<EmployeeCacheInvalidation> listener) {
+        listeners.add(listener);
+    }
+}
@@ -0,0 +1,31 @@
+package iam.sinny.springboottesting.cache;
+
+import java.util.Optional;
+
+/**
+ * Cache tier shared by all nodes (e.g. Redis), holding the serialized employees and a version per employee
+ * that is bumped on every write. Implementations must make {@link #bumpVersion} and {@link #putIfCurrent}
+ * atomic per employee, and must never hand out a lower version than before, also after evicting an entry: near
+ * caches keep the highest version they have seen (e.g. draw versions from one INCR counter in Redis).
+ */
+public interface SharedEmployeeCache {
+
+    long version(long id);
+
+    /**
+     * Drops the cached employee and returns its new version.
+     */
+    long bumpVersion(long id);
+
+    /**
+     * @return the employee, only if it was stored at the current version
+     */
+    Optional<VersionedJson> get(long id);
+
+    /**
+     * Stores the json loaded at {@code version} unless the employee has been written since.
+     *
+     * @return whether the json was stored
+     */
+    boolean putIfCurrent(long id, long version, byte[] json);
+}
@@ -0,0 +1,16 @@
+package iam.sinny.springboottesting.cache;
+
+/**
+ * Serialized employee tagged with the cache version it was loaded at. A {@code null} json marks the employee as
+ * invalidated at that version, so loads that started earlier cannot put stale bytes back.
+ */
+public record VersionedJson(long version, byte[] json) {
+
+    public static VersionedJson invalidated(long version) {
+        return new VersionedJson(version, null);
+    }
+
+    public boolean isPresent() {
+        return json != null;
+    }
+}
@@ -0,0 +1,30 @@
+package iam.sinny.springboottesting.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Lets a run skip the migrations with {@code employees.startup.migrate=false}.
+ * <p>
+ * {@code spring.flyway.enabled} is a condition, and conditions are evaluated when the AOT bean definitions are
+ * generated ({@code process-aot} with the {@code prod} profile), so an AOT or native build always migrates. This
+ * property is read when the application starts, which is what the {@code startup-check} runs need.
+ */
+@Slf4j
+@Configuration
+public class FlywayConfig {
+
+    @Bean
+    FlywayMigrationStrategy flywayMigrationStrategy(@Value("${employees.startup.migrate:true}") boolean migrate) {
+        return flyway -> {
+            if (migrate) {
+                flyway.migrate();
+            } else {
+                log.info("Skipping the Flyway migrations (employees.startup.migrate=false)");
+            }
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package iam.sinny.springboottesting.config;
+
+import iam.sinny.springboottesting.controller.EmployeeController;
+import iam.sinny.springboottesting.directory.EmployeeDirectory;
+import iam.sinny.springboottesting.job.EmployeePurgeJob;
+import iam.sinny.springboottesting.ratelimit.RateLimitInterceptor;
+import iam.sinny.springboottesting.service.EmployeeService;
+import iam.sinny.springboottesting.service.EmployeeUpdateQueue;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Beans kept eager when {@code spring.main.lazy-initialization} is on (prod profile): the request path,
+ * so the first request does not pay for it, and beans with {@code @Scheduled} methods, which would
+ * otherwise never be created.
+ */
+@Configuration
+public class LazyInitConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerEmployeeBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                EmployeeController.class,
+                EmployeeService.class,
+                EmployeeUpdateQueue.class,
+                EmployeePurgeJob.class,
+                EmployeeDirectory.class,
+                RateLimitInterceptor.class);
+    }
+}
@@ -0,0 +1,35 @@
+package iam.sinny.springboottesting.config;
+
+import iam.sinny.springboottesting.model.Employee;
+import iam.sinny.springboottesting.model.EmployeeUpdateTicket;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Reachability hints for the native image that Spring AOT cannot infer on its own:
+ * <ul>
+ *     <li>Jackson binding of {@link EmployeeUpdateTicket}, which is returned through {@code ResponseEntity<?>},
+ *     and of {@code Employee[]} used by the binary formats</li>
+ *     <li>the reactive schema script at a custom location</li>
+ * </ul>
+ * The {@code Employee} entity, the {@code EmployeeRepository} JPQL and native queries and the controller
+ * bodies are covered by Spring Data / Hibernate AOT processing. Lombok builders are plain generated code
+ * and need no hints.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHints.EmployeeRuntimeHints.class)
+public class NativeHints {
+
+    static class EmployeeRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                    Employee.class, Employee[].class, EmployeeUpdateTicket.class);
+            hints.resources().registerPattern("db/reactive/*.sql");
+        }
+    }
+}
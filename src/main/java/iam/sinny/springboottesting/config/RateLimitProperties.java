@@ -0,0 +1,75 @@
+package iam.sinny.springboottesting.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-client rate limits and per-endpoint bulkheads for {@code EmployeeController} and {@code EmployeeStatsController}.
+ * Endpoints are keyed by handler method name or {@code @RateLimited} name, e.g.
+ * {@code employees.rate-limit.endpoints.getAllEmployees.capacity=20}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employees.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /** Request header identifying the client; the remote address is used when it is missing. */
+    private String clientHeader = "X-Client-Id";
+
+    private Limit defaults = new Limit();
+
+    private Map<String, Limit> endpoints = new HashMap<>();
+
+    public Limit limitFor(String endpoint) {
+        return endpoints.getOrDefault(endpoint, defaults);
+    }
+
+    /**
+     * @throws IllegalStateException naming the first limit that cannot be enforced
+     */
+    public void validate() {
+        defaults.validate("employees.rate-limit.defaults");
+        endpoints.forEach((endpoint, limit) -> limit.validate("employees.rate-limit.endpoints." + endpoint));
+    }
+
+    @Getter
+    @Setter
+    public static class Limit {
+
+        /** Token bucket size, i.e. the burst a single client may send. */
+        private int capacity = 100;
+
+        /** Tokens added to each client's bucket per second. */
+        private double refillPerSecond = 50;
+
+        /** Share of the connection pool the endpoint may hold concurrently, 0 for no bulkhead. */
+        private double poolShare = 0;
+
+        /** Connections one request holds at once, i.e. the bulkhead permits it takes. */
+        private int connectionsPerRequest = 1;
+
+        void validate(String prefix) {
+            if (capacity < 1) {
+                throw new IllegalStateException(prefix + ".capacity must be positive: " + capacity);
+            }
+            if (!(refillPerSecond > 0) || refillPerSecond > 1_000_000_000L) {
+                throw new IllegalStateException(prefix + ".refill-per-second must be in (0, 1e9]: " + refillPerSecond);
+            }
+            if (1_000_000_000L / refillPerSecond * capacity >= Long.MAX_VALUE / 2) {
+                throw new IllegalStateException(prefix + ".refill-per-second is too low for its capacity: " + refillPerSecond);
+            }
+            if (!(poolShare >= 0 && poolShare <= 1)) {
+                throw new IllegalStateException(prefix + ".pool-share must be in [0, 1]: " + poolShare);
+            }
+            if (connectionsPerRequest < 1) {
+                throw new IllegalStateException(prefix + ".connections-per-request must be positive: " + connectionsPerRequest);
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package iam.sinny.springboottesting.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import iam.sinny.springboottesting.shard.EmployeeIdAllocator;
+import iam.sinny.springboottesting.shard.HashShardingStrategy;
+import iam.sinny.springboottesting.shard.RangeShardingStrategy;
+import iam.sinny.springboottesting.shard.ShardResolver;
+import iam.sinny.springboottesting.shard.ShardedEmployeeRepository;
+import iam.sinny.springboottesting.shard.ShardingStrategy;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Connection pools, schema migrations and id routing for {@code employees.sharding.shards}.
+ * The pools are not exposed as {@code DataSource} beans, so {@code spring.datasource} keeps backing JPA.
+ */
+@Configuration
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "employees.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    /**
+     * Write-behind, the directory snapshot and the soft-delete purge read and write {@code spring.datasource}
+     * through JPA, not the shards, so they are refused instead of silently working on the wrong database.
+     */
+    public ShardingConfig(@Value("${employees.write-behind.enabled:false}") boolean writeBehindEnabled,
+                          @Value("${employees.directory.enabled:false}") boolean directoryEnabled,
+                          @Value("${employees.soft-delete.enabled:false}") boolean softDeleteEnabled) {
+        List<String> unsupported = new ArrayList<>();
+        if (writeBehindEnabled) {
+            unsupported.add("employees.write-behind.enabled");
+        }
+        if (directoryEnabled) {
+            unsupported.add("employees.directory.enabled");
+        }
+        if (softDeleteEnabled) {
+            unsupported.add("employees.soft-delete.enabled");
+        }
+        if (!unsupported.isEmpty()) {
+            throw new IllegalStateException("employees.sharding.enabled cannot be combined with "
+                    + String.join(", ", unsupported) + ": these features only use spring.datasource");
+        }
+    }
+
+    @Bean
+    public ShardResolver shardResolver(ShardingProperties properties,
+                                       @Value("${spring.flyway.enabled:true}") boolean flywayEnabled,
+                                       @Value("${employees.startup.migrate:true}") boolean migrate) {
+        List<ShardingProperties.Shard> shards = properties.getShards();
+        if (shards.isEmpty()) {
+            throw new IllegalStateException("employees.sharding.enabled is set but no employees.sharding.shards are configured");
+        }
+
+        List<HikariDataSource> dataSources = new ArrayList<>(shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            ShardingProperties.Shard shard = shards.get(i);
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("employees-shard-" + i);
+            dataSource.setJdbcUrl(shard.getUrl());
+            dataSource.setUsername(shard.getUsername());
+            dataSource.setPassword(shard.getPassword());
+            dataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+            dataSources.add(dataSource);
+
+            if (flywayEnabled && migrate) {
+                Flyway.configure()
+                        .dataSource(dataSource)
+                        .locations("classpath:db/migration")
+                        .baselineOnMigrate(true)
+                        .baselineVersion("1")
+                        .load()
+                        .migrate();
+            }
+        }
+
+        ShardingStrategy strategy = switch (properties.getStrategy()) {
+            case HASH -> new HashShardingStrategy(shards.size());
+            case RANGE -> new RangeShardingStrategy(shards.stream().mapToLong(ShardingProperties.Shard::getRangeStart).toArray());
+        };
+        return new ShardResolver(dataSources, strategy);
+    }
+
+    @Bean
+    public EmployeeIdAllocator employeeIdAllocator(ShardResolver shardResolver, ShardingProperties properties) {
+        return new EmployeeIdAllocator(shardResolver.shard(0).dataSource(), properties.getIdBlockSize());
+    }
+
+    @Bean
+    public ShardedEmployeeRepository shardedEmployeeRepository(ShardResolver shardResolver,
+                                                               EmployeeIdAllocator employeeIdAllocator) {
+        return new ShardedEmployeeRepository(shardResolver, employeeIdAllocator);
+    }
+}
@@ -0,0 +1,47 @@
+package iam.sinny.springboottesting.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Employees split over several databases by id, e.g.
+ * {@code employees.sharding.shards[0].url=jdbc:mysql://shard0:3306/ems}. The first shard also holds the id sequence.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employees.sharding")
+public class ShardingProperties {
+
+    private boolean enabled = false;
+
+    private Strategy strategy = Strategy.HASH;
+
+    /** Ids reserved from the sequence per round trip. */
+    private int idBlockSize = 100;
+
+    private List<Shard> shards = new ArrayList<>();
+
+    public enum Strategy {
+        HASH, RANGE
+    }
+
+    @Getter
+    @Setter
+    public static class Shard {
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private int maximumPoolSize = 10;
+
+        /** First employee id owned by the shard, for the range strategy. */
+        private long rangeStart = 1;
+    }
+}
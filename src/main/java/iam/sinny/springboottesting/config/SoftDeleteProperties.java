@@ -0,0 +1,27 @@
+package iam.sinny.springboottesting.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Soft-delete mode for {@code DELETE /api/employees/{id}} and the background purge of soft-deleted rows.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employees.soft-delete")
+public class SoftDeleteProperties {
+
+    private boolean enabled = false;
+
+    /** How long a soft-deleted row is kept before the purge job may hard-delete it. */
+    private Duration purgeAfter = Duration.ofDays(1);
+
+    /** Rows hard-deleted per transaction. */
+    private int purgeBatchSize = 500;
+
+    /** Upper bound of batches per purge run, so a backlog is worked off over several runs. */
+    private int purgeMaxBatches = 100;
+}
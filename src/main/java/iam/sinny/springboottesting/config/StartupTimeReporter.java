@@ -0,0 +1,76 @@
+package iam.sinny.springboottesting.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.NativeDetector;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Reports how long the application took to become ready and its resident memory, so startup can be tracked
+ * across builds: {@code mvn -Pstartup package} (JVM) and {@code mvn -Pnative package} (native image) append
+ * {@code timestamp,runtime,readyMs,uptimeMs,rssKb} to {@code target/startup-time.csv}.
+ */
+@Slf4j
+@Component
+public class StartupTimeReporter implements ApplicationListener<ApplicationReadyEvent> {
+
+    private final String reportFile;
+
+    private final boolean exitAfterReport;
+
+    public StartupTimeReporter(@Value("${employees.startup.report-file:}") String reportFile,
+                               @Value("${employees.startup.exit-after-report:false}") boolean exitAfterReport) {
+        this.reportFile = reportFile;
+        this.exitAfterReport = exitAfterReport;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        long readyMillis = event.getTimeTaken().toMillis();
+        long uptimeMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        String runtime = NativeDetector.inNativeImage() ? "native" : "jvm";
+        long rssKb = residentSetSizeKb();
+        log.info("Application ready in {} ms ({} uptime {} ms, RSS {} kB)", readyMillis, runtime, uptimeMillis, rssKb);
+
+        if (!reportFile.isBlank()) {
+            try {
+                Files.writeString(Path.of(reportFile),
+                        String.format("%s,%s,%d,%d,%d%n", Instant.now(), runtime, readyMillis, uptimeMillis, rssKb),
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                log.warn("Could not write startup time to {}", reportFile, e);
+            }
+        }
+
+        if (exitAfterReport) {
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        }
+    }
+
+    /**
+     * VmRSS from /proc/self/status, or -1 where that is not available (non-Linux).
+     */
+    private static long residentSetSizeKb() {
+        try {
+            List<String> status = Files.readAllLines(Path.of("/proc/self/status"));
+            return status.stream()
+                    .filter(line -> line.startsWith("VmRSS:"))
+                    .mapToLong(line -> Long.parseLong(line.replaceAll("\\D", "")))
+                    .findFirst()
+                    .orElse(-1);
+        } catch (IOException | RuntimeException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package iam.sinny.springboottesting.config;
+
+import iam.sinny.springboottesting.trace.TracingDataSourcePostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+@Configuration
+@Profile("!reactive")
+public class TracingConfig {
+
+    /**
+     * Static, so registering the post-processor does not instantiate this configuration early.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "employees.tracing", name = "connection-spans", havingValue = "true", matchIfMissing = true)
+    static TracingDataSourcePostProcessor tracingDataSourcePostProcessor() {
+        return new TracingDataSourcePostProcessor();
+    }
+}
@@ -0,0 +1,21 @@
+package iam.sinny.springboottesting.config;
+
+import iam.sinny.springboottesting.ratelimit.RateLimitInterceptor;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+@AllArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    RateLimitInterceptor rateLimitInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(rateLimitInterceptor).addPathPatterns("/api/employees/**");
+    }
+}
@@ -1,25 +1,68 @@
 package iam.sinny.springboottesting.controller;
 
+import iam.sinny.springboottesting.exception.ResourceNotFoundException;
+import iam.sinny.springboottesting.idempotency.IdempotencyStore;
 import iam.sinny.springboottesting.model.Employee;
+import iam.sinny.springboottesting.model.EmployeeUpdateTicket;
+import iam.sinny.springboottesting.ratelimit.RateLimited;
 import iam.sinny.springboottesting.service.EmployeeService;
+import iam.sinny.springboottesting.service.EmployeeUpdateQueue;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.net.URI;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/employees")
+@Profile("!reactive")
 @AllArgsConstructor
 public class EmployeeController {
 
     EmployeeService employeeService;
 
+    ObjectProvider<EmployeeUpdateQueue> employeeUpdateQueue;
+
+    IdempotencyStore idempotencyStore;
+
+    /**
+     * A retry sent with the same {@code Idempotency-Key} gets the original response, marked with
+     * {@code Idempotent-Replayed: true}, without saving again.
+     */
     @PostMapping
-    @ResponseStatus(HttpStatus.CREATED)
-    public Employee createEmployee(@RequestBody Employee employee) {
-        return employeeService.saveEmployee(employee);
+    public ResponseEntity<Employee> createEmployee(@RequestBody Employee employee,
+                                                   @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return ResponseEntity.status(HttpStatus.CREATED).body(employeeService.saveEmployee(employee));
+        }
+
+        String fingerprint = String.join("\u0000", employee.getFirstName(), employee.getLastName(), employee.getEmail());
+        IdempotencyStore.Result<Employee> result = idempotencyStore.execute(idempotencyKey, fingerprint,
+                () -> employeeService.saveEmployee(employee));
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.CREATED);
+        if (result.replayed()) {
+            response.header("Idempotent-Replayed", "true");
+        }
+        return response.body(result.value());
+    }
+
+    /**
+     * JSON lists are written straight to the response as they are read, without building the list first; other
+     * formats go through {@link #getAllEmployees()}. Both share the {@code getAllEmployees} rate limit.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public void getAllEmployees(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        employeeService.writeAllEmployeesJson(response.getOutputStream());
     }
 
     @GetMapping
@@ -29,6 +72,19 @@ public class EmployeeController {
     }
 
 
+    /**
+     * JSON reads are written straight from the service's cached UTF-8 bytes; other formats go through
+     * {@link #getEmployeeById(long)}. Both share the {@code getEmployeeById} rate limit.
+     */
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @RateLimited("getEmployeeById")
+    public ResponseEntity<byte[]> getEmployeeJsonById(@PathVariable("id") long employeeId) {
+
+        return employeeService.getEmployeeJsonById(employeeId)
+                .map(json -> ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(json))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Employee> getEmployeeById(@PathVariable("id") long employeeId) {
 
@@ -37,22 +93,48 @@ public class EmployeeController {
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    /**
+     * With {@code Prefer: respond-async} the update goes through the write-behind queue and is answered with
+     * {@code 202 Accepted}; without it, or when the update queue is not enabled, it is applied synchronously.
+     */
     @PutMapping("/{id}")
-    public ResponseEntity<Employee> updateEmployee(@PathVariable("id") long employeeId,
-                                                   @RequestBody Employee employee) {
-
-        return employeeService.getEmployeeById(employeeId)
-                .map(savedEmployee -> {
-                    savedEmployee.setFirstName(employee.getFirstName());
-                    savedEmployee.setLastName(employee.getLastName());
-                    savedEmployee.setEmail(employee.getEmail());
-
-                    Employee updatedEmployee = employeeService.updateEmployee(employee);
+    public ResponseEntity<?> updateEmployee(@PathVariable("id") long employeeId,
+                                            @RequestBody Employee employee,
+                                            @RequestHeader(name = "Prefer", required = false) String prefer) {
+        EmployeeUpdateQueue updateQueue = employeeUpdateQueue.getIfAvailable();
+        if (updateQueue != null && prefersRespondAsync(prefer)) {
+            EmployeeUpdateTicket ticket = updateQueue.submit(employeeId, employee);
+
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/employees/updates/" + ticket.getToken()))
+                    .body(ticket);
+        }
+
+        try {
+            return employeeService.getEmployeeById(employeeId)
+                    .map(savedEmployee -> {
+                        savedEmployee.setFirstName(employee.getFirstName());
+                        savedEmployee.setLastName(employee.getLastName());
+                        savedEmployee.setEmail(employee.getEmail());
+
+                        Employee updatedEmployee = employeeService.updateEmployee(savedEmployee);
+
+                        return new ResponseEntity<>(updatedEmployee, HttpStatus.OK);
+                    })
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (ResourceNotFoundException e) {
+            // deleted between the read and the update
+            return ResponseEntity.notFound().build();
+        }
+    }
 
-                    return new ResponseEntity<>(updatedEmployee, HttpStatus.OK);
-                })
+    @GetMapping("/updates/{token}")
+    public ResponseEntity<EmployeeUpdateTicket> getUpdateStatus(@PathVariable("token") String token) {
+        return employeeUpdateQueue.stream()
+                .flatMap(updateQueue -> updateQueue.getTicket(token).stream())
+                .findFirst()
+                .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
-
     }
 
     @DeleteMapping("/{id}")
@@ -61,4 +143,21 @@ public class EmployeeController {
 
         return new ResponseEntity<>("Employee deleted successfully.", HttpStatus.OK);
     }
-}
\ No newline at end of file
+
+    /**
+     * Whether one of the comma-separated preferences of the {@code Prefer} header (RFC 7240) is
+     * {@code respond-async}, e.g. {@code Prefer: respond-async, wait=5}.
+     */
+    static boolean prefersRespondAsync(String prefer) {
+        if (prefer == null) {
+            return false;
+        }
+        for (String preference : prefer.split(",")) {
+            String token = preference.split("[;=]", 2)[0].trim();
+            if (token.equalsIgnoreCase("respond-async")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
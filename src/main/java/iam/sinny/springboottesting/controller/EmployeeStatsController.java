@@ -0,0 +1,34 @@
+package iam.sinny.springboottesting.controller;
+
+import iam.sinny.springboottesting.service.EmployeeStatsService;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/employees/stats")
+@Profile("!reactive")
+@AllArgsConstructor
+public class EmployeeStatsController {
+
+    EmployeeStatsService employeeStatsService;
+
+    @GetMapping("/count")
+    public Map<String, Long> countEmployees() {
+        return Map.of("count", employeeStatsService.countEmployees());
+    }
+
+    @GetMapping("/last-name-initials")
+    public Map<String, Long> countByLastNameInitial() {
+        return employeeStatsService.countByLastNameInitial();
+    }
+
+    @GetMapping("/email-domains")
+    public Map<String, Long> countByEmailDomain() {
+        return employeeStatsService.countByEmailDomain();
+    }
+}
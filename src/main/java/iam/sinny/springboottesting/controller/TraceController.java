@@ -0,0 +1,30 @@
+package iam.sinny.springboottesting.controller;
+
+import iam.sinny.springboottesting.trace.RequestTrace;
+import iam.sinny.springboottesting.trace.SlowestTraceBuffer;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/internal/traces")
+@Profile("!reactive")
+@AllArgsConstructor
+public class TraceController {
+
+    SlowestTraceBuffer slowestTraceBuffer;
+
+    /**
+     * The slowest of the recently sampled {@code /api} requests, with their controller, service, repository,
+     * request body and connection pool spans.
+     */
+    @GetMapping("/slowest")
+    public List<RequestTrace> getSlowestTraces(@RequestParam(name = "limit", defaultValue = "20") int limit) {
+        return slowestTraceBuffer.slowest(limit);
+    }
+}
@@ -0,0 +1,207 @@
+package iam.sinny.springboottesting.directory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import iam.sinny.springboottesting.model.Employee;
+import iam.sinny.springboottesting.repository.EmployeeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Read-mostly snapshot of the whole employees table as serialized JSON in an {@link OffHeapEmployeeIndex}.
+ * <p>
+ * The snapshot is reloaded from the database every {@code employees.directory.refresh-interval} and kept
+ * current in between by the writes that go through this node's {@code EmployeeService}. Writes made elsewhere
+ * (other nodes, write-behind flushes, SQL) show up with the next reload, so reads are at most one refresh
+ * interval stale. If reloads keep failing and the snapshot gets older than
+ * {@code employees.directory.max-staleness}, {@link #isServing()} turns false and reads go back to the database.
+ */
+@Slf4j
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "employees.directory", name = "enabled", havingValue = "true")
+public class EmployeeDirectory {
+
+    private final EmployeeRepository employeeRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final Duration maxStaleness;
+
+    private final int pageSize;
+
+    private final Clock clock;
+
+    private volatile OffHeapEmployeeIndex index;
+
+    private volatile Instant loadedAt;
+
+    /** Serializes incremental writes with the swap at the end of a reload. */
+    private final Object writeLock = new Object();
+
+    /** Writes applied while a reload is running, replayed onto the new snapshot before it is published. */
+    private List<Consumer<OffHeapEmployeeIndex>> writesDuringReload;
+
+    public EmployeeDirectory(EmployeeRepository employeeRepository, ObjectMapper objectMapper,
+                             @Value("${employees.directory.max-staleness:5m}") Duration maxStaleness,
+                             @Value("${employees.directory.page-size:1000}") int pageSize) {
+        this(employeeRepository, objectMapper, maxStaleness, pageSize, Clock.systemUTC());
+    }
+
+    EmployeeDirectory(EmployeeRepository employeeRepository, ObjectMapper objectMapper,
+                      Duration maxStaleness, int pageSize, Clock clock) {
+        this.employeeRepository = employeeRepository;
+        this.objectMapper = objectMapper;
+        this.maxStaleness = maxStaleness;
+        this.pageSize = pageSize;
+        this.clock = clock;
+    }
+
+    /**
+     * Whether the snapshot has been loaded and is within the staleness bound.
+     */
+    public boolean isServing() {
+        Instant loaded = loadedAt;
+        return loaded != null && loaded.plus(maxStaleness).isAfter(clock.instant());
+    }
+
+    public Optional<byte[]> findJsonById(long id) {
+        return Optional.ofNullable(index.get(id));
+    }
+
+    /**
+     * Writes the snapshot as a JSON array of the stored records, without deserializing them.
+     */
+    public void writeJsonArray(OutputStream out) throws IOException {
+        OffHeapEmployeeIndex current = index;
+        out.write('[');
+        boolean first = true;
+        for (long id : current.ids()) {
+            byte[] json = current.get(id);
+            // removed since ids() was taken
+            if (json != null) {
+                if (!first) {
+                    out.write(',');
+                }
+                out.write(json);
+                first = false;
+            }
+        }
+        out.write(']');
+    }
+
+    /**
+     * The snapshot as entities, for formats other than JSON.
+     */
+    public List<Employee> findAll() {
+        OffHeapEmployeeIndex current = index;
+        long[] ids = current.ids();
+        List<Employee> employees = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            byte[] json = current.get(id);
+            // removed since ids() was taken
+            if (json != null) {
+                employees.add(deserialize(json));
+            }
+        }
+        return employees;
+    }
+
+    public void put(Employee employee) {
+        byte[] json = serialize(employee);
+        long id = employee.getId();
+        apply(index -> index.put(id, json));
+    }
+
+    public void remove(long id) {
+        apply(index -> index.remove(id));
+    }
+
+    @Scheduled(fixedDelayString = "${employees.directory.refresh-interval:PT1M}")
+    public void reload() {
+        synchronized (writeLock) {
+            writesDuringReload = new ArrayList<>();
+        }
+
+        OffHeapEmployeeIndex fresh;
+        Instant startedAt = clock.instant();
+        try {
+            fresh = load();
+        } catch (RuntimeException e) {
+            log.error("Failed to reload the employee directory, serving the previous snapshot", e);
+            synchronized (writeLock) {
+                writesDuringReload = null;
+            }
+            return;
+        }
+
+        synchronized (writeLock) {
+            writesDuringReload.forEach(write -> write.accept(fresh));
+            writesDuringReload = null;
+            index = fresh;
+            // rows written after startedAt may be missing from pages read earlier, unless this node wrote them
+            loadedAt = startedAt;
+        }
+        log.debug("Reloaded the employee directory with {} employees", fresh.size());
+    }
+
+    private OffHeapEmployeeIndex load() {
+        int expected = (int) Math.min(employeeRepository.count(), OffHeapEmployeeIndex.MAX_ENTRIES);
+        OffHeapEmployeeIndex fresh = new OffHeapEmployeeIndex(expected, (int) Math.min(expected * 128L, Integer.MAX_VALUE / 2));
+
+        // keyset pages, each in its own short transaction so the persistence context never holds the whole table
+        long afterId = 0;
+        List<Employee> page;
+        do {
+            page = employeeRepository.findPageAfterId(afterId, PageRequest.ofSize(pageSize));
+            for (Employee employee : page) {
+                fresh.put(employee.getId(), serialize(employee));
+                afterId = employee.getId();
+            }
+        } while (page.size() == pageSize);
+        return fresh;
+    }
+
+    private void apply(Consumer<OffHeapEmployeeIndex> write) {
+        synchronized (writeLock) {
+            OffHeapEmployeeIndex current = index;
+            if (current != null) {
+                write.accept(current);
+            }
+            if (writesDuringReload != null) {
+                writesDuringReload.add(write);
+            }
+        }
+    }
+
+    private byte[] serialize(Employee employee) {
+        try {
+            return objectMapper.writeValueAsBytes(employee);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize employee " + employee.getId(), e);
+        }
+    }
+
+    private Employee deserialize(byte[] json) {
+        try {
+            return objectMapper.readValue(json, Employee.class);
+        } catch (IOException e) {
+            throw new IllegalStateException("Corrupt employee record in the directory", e);
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package iam.sinny.springboottesting.directory;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * {@code long}-keyed open-addressing index over length-prefixed UTF-8 records kept in a direct (off-heap)
+ * {@link ByteBuffer}. Lookups only allocate the returned byte array.
+ * <p>
+ * Writers are serialized by a {@link StampedLock}; readers use optimistic reads and fall back to the read
+ * lock only when a write raced with them. Updated records are appended and the old bytes are reclaimed when
+ * the buffer is compacted on the next growth.
+ */
+public final class OffHeapEmployeeIndex {
+
+    private static final long EMPTY = 0;
+
+    private static final long DELETED = -1;
+
+    /** Offsets are {@code int}s, so one buffer holds at most this many bytes. */
+    private static final int MAX_DATA_BYTES = Integer.MAX_VALUE;
+
+    /** At a load factor of at most 0.5 this needs the largest power-of-two table a Java array can hold. */
+    static final int MAX_ENTRIES = 1 << 29;
+
+    private final StampedLock lock = new StampedLock();
+
+    private long[] keys;
+
+    private int[] offsets;
+
+    private int size;
+
+    /** Live entries plus tombstones, which both lengthen probe sequences. */
+    private int used;
+
+    private ByteBuffer data;
+
+    private int writePosition;
+
+    public OffHeapEmployeeIndex(int expectedEntries, int expectedBytes) {
+        int capacity = tableSizeFor(expectedEntries);
+        this.keys = new long[capacity];
+        this.offsets = new int[capacity];
+        this.data = ByteBuffer.allocateDirect(Math.max(expectedBytes, 1024));
+    }
+
+    public void put(long id, byte[] record) {
+        if (id <= 0) {
+            throw new IllegalArgumentException("Employee id must be positive: " + id);
+        }
+        long stamp = lock.writeLock();
+        try {
+            if (used + 1 > keys.length / 2 || (long) writePosition + Integer.BYTES + record.length > data.capacity()) {
+                grow(record.length);
+            }
+            int slot = slotFor(keys, id);
+            if (keys[slot] != id) {
+                if (keys[slot] == EMPTY) {
+                    used++;
+                }
+                keys[slot] = id;
+                size++;
+            }
+            offsets[slot] = append(data, record);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public boolean remove(long id) {
+        long stamp = lock.writeLock();
+        try {
+            int slot = slotFor(keys, id);
+            if (keys[slot] != id) {
+                return false;
+            }
+            keys[slot] = DELETED;
+            size--;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * @return a copy of the record, or {@code null} if the id is not in the index
+     */
+    public byte[] get(long id) {
+        long stamp = lock.tryOptimisticRead();
+        byte[] record = null;
+        boolean consistent = true;
+        try {
+            record = read(id);
+        } catch (RuntimeException e) {
+            // torn read of a concurrently resized table; validate() fails below
+            consistent = false;
+        }
+        if (consistent && lock.validate(stamp)) {
+            return record;
+        }
+
+        stamp = lock.readLock();
+        try {
+            return read(id);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @return the ids in the index in ascending order
+     */
+    public long[] ids() {
+        long stamp = lock.readLock();
+        try {
+            long[] ids = new long[size];
+            int next = 0;
+            for (long key : keys) {
+                if (key > 0) {
+                    ids[next++] = key;
+                }
+            }
+            Arrays.sort(ids);
+            return ids;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private byte[] read(long id) {
+        long[] keys = this.keys;
+        int[] offsets = this.offsets;
+        ByteBuffer data = this.data;
+
+        int slot = slotFor(keys, id);
+        if (keys[slot] != id) {
+            return null;
+        }
+        int offset = offsets[slot];
+        int length = data.getInt(offset);
+        if (length < 0 || offset + Integer.BYTES + length > data.capacity()) {
+            throw new IllegalStateException("Inconsistent record at " + offset);
+        }
+        byte[] record = new byte[length];
+        data.get(offset + Integer.BYTES, record);
+        return record;
+    }
+
+    /**
+     * Rehashes into a table sized for the live entries and compacts the live records into a new buffer.
+     */
+    private void grow(int incomingBytes) {
+        int entries;
+        if (used + 1 <= keys.length / 2) {
+            // only the buffer is full: rebuild the table at its current size for the compacted offsets
+            entries = keys.length / 2;
+        } else if (size + 1 > keys.length / 4) {
+            // live entries fill the table: double it, so n puts rehash O(log n) times
+            entries = keys.length;
+        } else {
+            // mostly tombstones: size it for the live entries
+            entries = size + 1;
+        }
+        long[] newKeys = new long[tableSizeFor(entries)];
+        int[] newOffsets = new int[newKeys.length];
+
+        long liveBytes = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] > 0) {
+                liveBytes += Integer.BYTES + data.getInt(offsets[slot]);
+            }
+        }
+        ByteBuffer newData = ByteBuffer.allocateDirect(
+                dataCapacityFor(liveBytes + Integer.BYTES + incomingBytes, data.capacity()));
+
+        // readers keep using the old table and buffer until the fields are swapped below
+        writePosition = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] > 0) {
+                int length = data.getInt(offsets[slot]);
+                byte[] record = new byte[length];
+                data.get(offsets[slot] + Integer.BYTES, record);
+
+                int newSlot = slotFor(newKeys, keys[slot]);
+                newKeys[newSlot] = keys[slot];
+                newOffsets[newSlot] = append(newData, record);
+            }
+        }
+
+        this.keys = newKeys;
+        this.offsets = newOffsets;
+        this.data = newData;
+        this.used = size;
+    }
+
+    /**
+     * Twice the required bytes for headroom, capped at {@link #MAX_DATA_BYTES} and never less than the current
+     * capacity; computed in {@code long} since doubling overflows an {@code int} past 1 GiB.
+     */
+    static int dataCapacityFor(long requiredBytes, int currentCapacity) {
+        if (requiredBytes > MAX_DATA_BYTES) {
+            throw new IllegalStateException("The index needs " + requiredBytes + " bytes of records, more than the "
+                    + MAX_DATA_BYTES + " a single buffer can hold");
+        }
+        return (int) Math.max(Math.min(requiredBytes * 2, MAX_DATA_BYTES), currentCapacity);
+    }
+
+    private int append(ByteBuffer buffer, byte[] record) {
+        int offset = writePosition;
+        buffer.putInt(offset, record.length);
+        buffer.put(offset + Integer.BYTES, record);
+        writePosition = offset + Integer.BYTES + record.length;
+        return offset;
+    }
+
+    /**
+     * Slot holding {@code id}, or the slot where it would be inserted (reusing the first tombstone on the way).
+     */
+    private static int slotFor(long[] keys, long id) {
+        int mask = keys.length - 1;
+        int slot = hash(id) & mask;
+        int firstDeleted = -1;
+        for (int probe = 0; probe < keys.length; probe++) {
+            long key = keys[slot];
+            if (key == id) {
+                return slot;
+            }
+            if (key == EMPTY) {
+                return firstDeleted >= 0 ? firstDeleted : slot;
+            }
+            if (key == DELETED && firstDeleted < 0) {
+                firstDeleted = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return firstDeleted;
+    }
+
+    private static int hash(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * The smallest power of two holding {@code entries} at a load factor of at most 0.5, i.e. 2 to 4 slots per entry.
+     *
+     * @throws IllegalStateException above {@link #MAX_ENTRIES}
+     */
+    static int tableSizeFor(int entries) {
+        if (entries > MAX_ENTRIES) {
+            throw new IllegalStateException("Cannot index " + entries + " employees, at most " + MAX_ENTRIES + " fit");
+        }
+        int capacity = Integer.highestOneBit(Math.max(entries, 8) * 2 - 1) << 1;
+        return Math.max(capacity, 16);
+    }
+}
@@ -0,0 +1,12 @@
+package iam.sinny.springboottesting.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class UpdateQueueFullException extends RuntimeException{
+
+    public UpdateQueueFullException(String message){
+        super(message);
+    }
+}
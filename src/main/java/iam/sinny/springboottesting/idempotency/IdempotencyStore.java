@@ -0,0 +1,88 @@
+package iam.sinny.springboottesting.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import iam.sinny.springboottesting.exception.IdempotencyKeyInProgressException;
+import iam.sinny.springboottesting.exception.IdempotencyKeyReusedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Results of requests sent with an {@code Idempotency-Key} header, kept for {@code employees.idempotency.ttl}
+ * in a bounded map of this node.
+ * <p>
+ * The first request with a key runs the action; later requests with the same key and request get its result without
+ * running it again, and requests arriving while it runs wait for it. A failed action is not remembered, so the
+ * client's retry runs it again. Reusing a key for a different request is rejected.
+ */
+@Component
+public class IdempotencyStore {
+
+    private final Cache<String, Entry<?>> entries;
+
+    private final Duration waitTimeout;
+
+    public IdempotencyStore(@Value("${employees.idempotency.ttl:24h}") Duration ttl,
+                            @Value("${employees.idempotency.maximum-size:100000}") long maximumSize,
+                            @Value("${employees.idempotency.wait-timeout:10s}") Duration waitTimeout) {
+        this.entries = Caffeine.newBuilder().expireAfterWrite(ttl).maximumSize(maximumSize).build();
+        this.waitTimeout = waitTimeout;
+    }
+
+    /**
+     * @param fingerprint identifies the request, so that a key reused for another request can be detected
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Result<T> execute(String key, String fingerprint, Supplier<T> action) {
+        Entry<T> created = new Entry<>(fingerprint, new CompletableFuture<>());
+        Entry<T> entry = (Entry<T>) entries.get(key, k -> created);
+
+        if (!entry.fingerprint().equals(fingerprint)) {
+            throw new IdempotencyKeyReusedException("Idempotency-Key " + key + " was already used for a different request");
+        }
+        if (entry != created) {
+            return new Result<>(await(key, entry.result()), true);
+        }
+
+        try {
+            T value = action.get();
+            created.result().complete(value);
+            return new Result<>(value, false);
+        } catch (Throwable e) {
+            // errors too: waiting requests must not be left blocked on an entry that never completes
+            entries.asMap().remove(key, created);
+            created.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private <T> T await(String key, CompletableFuture<T> result) {
+        try {
+            return result.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IdempotencyKeyInProgressException("A request with Idempotency-Key " + key + " is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInProgressException("Interrupted while waiting for Idempotency-Key " + key);
+        } catch (ExecutionException e) {
+            // the request we waited for failed; report the same failure
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public record Result<T>(T value, boolean replayed) {
+    }
+
+    private record Entry<T>(String fingerprint, CompletableFuture<T> result) {
+    }
+}
@@ -0,0 +1,61 @@
+package iam.sinny.springboottesting.job;
+
+import iam.sinny.springboottesting.config.SoftDeleteProperties;
+import iam.sinny.springboottesting.repository.EmployeeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Hard-deletes soft-deleted employees in bounded batches, one short transaction per batch,
+ * on the off-peak schedule {@code employees.soft-delete.purge-cron}.
+ */
+@Slf4j
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "employees.soft-delete", name = "enabled", havingValue = "true")
+public class EmployeePurgeJob {
+
+    private final EmployeeRepository employeeRepository;
+
+    private final SoftDeleteProperties properties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public EmployeePurgeJob(EmployeeRepository employeeRepository, SoftDeleteProperties properties,
+                            PlatformTransactionManager transactionManager) {
+        this.employeeRepository = employeeRepository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${employees.soft-delete.purge-cron:0 */10 1-5 * * *}")
+    public int purge() {
+        Instant cutoff = Instant.now().minus(properties.getPurgeAfter());
+        int batchSize = properties.getPurgeBatchSize();
+        int purged = 0;
+
+        for (int batch = 0; batch < properties.getPurgeMaxBatches(); batch++) {
+            Integer deleted = transactionTemplate.execute(status -> {
+                List<Long> ids = employeeRepository.findSoftDeletedIds(cutoff, batchSize);
+                return ids.isEmpty() ? 0 : employeeRepository.purgeByIds(ids);
+            });
+            purged += deleted == null ? 0 : deleted;
+            if (deleted == null || deleted < batchSize) {
+                break;
+            }
+        }
+
+        if (purged > 0) {
+            log.info("Purged {} soft-deleted employees deleted before {}", purged, cutoff);
+        }
+        return purged;
+    }
+}
@@ -1,7 +1,11 @@
 package iam.sinny.springboottesting.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.SQLRestriction;
+
+import java.time.Instant;
 
 @Getter
 @Setter
@@ -10,9 +14,12 @@ import lombok.*;
 @Builder
 @Entity
 @Table(name = "employees")
+@org.springframework.data.relational.core.mapping.Table("employees")
+@SQLRestriction("deleted_at is null")
 public class Employee {
 
     @Id
+    @org.springframework.data.annotation.Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private long id;
 
@@ -25,4 +32,11 @@ public class Employee {
     @Column(nullable = false)
     private String email;
 
+    /**
+     * Set by a soft delete; soft-deleted rows are hidden from every JPA query and hard-deleted later by the purge job.
+     */
+    @JsonIgnore
+    @Column(name = "deleted_at")
+    private Instant deletedAt;
+
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package iam.sinny.springboottesting.model;
+
+public enum EmployeeUpdateStatus {
+
+    /** Accepted and waiting for the next flush. */
+    QUEUED,
+
+    /** Written to the database. */
+    APPLIED,
+
+    /** Replaced by a later update of the same employee before it was flushed (last writer wins). */
+    SUPERSEDED,
+
+    /** The employee did not exist when the update was flushed. */
+    NOT_FOUND,
+
+    /**
+     * The update could not be written, even on its own after its batch failed, and was dropped. The employee
+     * keeps its previous values; the client has to send the update again.
+     */
+    FAILED
+}
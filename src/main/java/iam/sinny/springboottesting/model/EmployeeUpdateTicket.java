@@ -0,0 +1,17 @@
+package iam.sinny.springboottesting.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class EmployeeUpdateTicket {
+
+    private String token;
+
+    private long employeeId;
+
+    private volatile EmployeeUpdateStatus status;
+}
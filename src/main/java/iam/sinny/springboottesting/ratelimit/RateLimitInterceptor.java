@@ -0,0 +1,123 @@
+package iam.sinny.springboottesting.ratelimit;
+
+import iam.sinny.springboottesting.config.RateLimitProperties;
+import iam.sinny.springboottesting.controller.EmployeeController;
+import iam.sinny.springboottesting.controller.EmployeeStatsController;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the per-client token buckets and per-endpoint concurrency bulkheads configured in
+ * {@link RateLimitProperties} to {@link EmployeeController} and {@link EmployeeStatsController} handlers.
+ * Endpoints are keyed by {@link RateLimited} or else the handler method name, so those names must stay unique across
+ * both controllers.
+ */
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private static final String BULKHEAD_PERMIT = RateLimitInterceptor.class.getName() + ".permit";
+
+    private static final Set<Class<?>> LIMITED_CONTROLLERS = Set.of(EmployeeController.class, EmployeeStatsController.class);
+
+    private final RateLimitProperties properties;
+
+    private final MeterRegistry meterRegistry;
+
+    private final int connectionPoolSize;
+
+    private final ConcurrentHashMap<String, TokenBucketRateLimiter> rateLimiters = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<String, Semaphore> bulkheads = new ConcurrentHashMap<>();
+
+    public RateLimitInterceptor(RateLimitProperties properties,
+                                ObjectProvider<MeterRegistry> meterRegistry,
+                                @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize) {
+        properties.validate();
+        this.properties = properties;
+        this.meterRegistry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+        this.connectionPoolSize = connectionPoolSize;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!properties.isEnabled()
+                || !(handler instanceof HandlerMethod handlerMethod)
+                || !isLimited(handlerMethod.getBeanType())) {
+            return true;
+        }
+
+        RateLimited rateLimited = handlerMethod.getMethodAnnotation(RateLimited.class);
+        String endpoint = rateLimited != null ? rateLimited.value() : handlerMethod.getMethod().getName();
+        RateLimitProperties.Limit limit = properties.limitFor(endpoint);
+
+        long waitNanos = rateLimiters
+                .computeIfAbsent(endpoint, key -> new TokenBucketRateLimiter(limit.getCapacity(), limit.getRefillPerSecond()))
+                .tryAcquire(clientKey(request));
+        if (waitNanos > 0) {
+            reject(endpoint, "rate_limit");
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER,
+                    String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos))));
+            return false;
+        }
+
+        if (limit.getPoolShare() > 0) {
+            // permits are connections, so a request fanning out over several connections takes one each;
+            // a share smaller than one request still lets one request through at a time
+            int permits = limit.getConnectionsPerRequest();
+            Semaphore bulkhead = bulkheads.computeIfAbsent(endpoint,
+                    key -> new Semaphore(Math.max(permits, (int) (connectionPoolSize * limit.getPoolShare()))));
+            if (!bulkhead.tryAcquire(permits)) {
+                reject(endpoint, "bulkhead");
+                response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+                return false;
+            }
+            request.setAttribute(BULKHEAD_PERMIT, new BulkheadPermit(bulkhead, permits));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(BULKHEAD_PERMIT) instanceof BulkheadPermit permit) {
+            request.removeAttribute(BULKHEAD_PERMIT);
+            permit.bulkhead().release(permit.permits());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${employees.rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleClients() {
+        rateLimiters.values().forEach(TokenBucketRateLimiter::evictIdle);
+    }
+
+    private static boolean isLimited(Class<?> beanType) {
+        return LIMITED_CONTROLLERS.stream().anyMatch(controller -> controller.isAssignableFrom(beanType));
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        String client = request.getHeader(properties.getClientHeader());
+        return client != null && !client.isBlank() ? client : request.getRemoteAddr();
+    }
+
+    private void reject(String endpoint, String reason) {
+        meterRegistry.counter("employees.requests.rejected", "endpoint", endpoint, "reason", reason).increment();
+    }
+
+    private record BulkheadPermit(Semaphore bulkhead, int permits) {
+    }
+}
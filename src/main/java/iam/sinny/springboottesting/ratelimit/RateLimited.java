@@ -0,0 +1,21 @@
+package iam.sinny.springboottesting.ratelimit;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Names the rate limit and bulkhead a handler method counts against. Handlers serving the same route (e.g. one per
+ * media type) must share one name, or a client could double its limit by alternating the {@code Accept} header.
+ * Handlers without it use their method name.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+
+    /** The endpoint name under {@code employees.rate-limit.endpoints}. */
+    String value();
+}
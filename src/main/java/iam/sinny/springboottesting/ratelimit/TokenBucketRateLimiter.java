@@ -0,0 +1,80 @@
+package iam.sinny.springboottesting.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket per client key.
+ * <p>
+ * Each bucket is a single {@link AtomicLong} holding the theoretical arrival time of the next request
+ * (GCRA), which is equivalent to a token bucket of {@code capacity} tokens refilled at {@code refillPerSecond}
+ * but can be updated with one CAS. Buckets live in a {@link ConcurrentHashMap}, whose bins are locked
+ * independently, so different clients never contend on the same lock.
+ */
+public class TokenBucketRateLimiter {
+
+    private final long emissionIntervalNanos;
+
+    private final long burstToleranceNanos;
+
+    private final LongSupplier nanoClock;
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    public TokenBucketRateLimiter(int capacity, double refillPerSecond) {
+        this(capacity, refillPerSecond, System::nanoTime);
+    }
+
+    /**
+     * @throws IllegalArgumentException unless {@code capacity} is positive and {@code refillPerSecond} adds at most
+     *                                  one token per nanosecond and refills the whole bucket within ~292 years
+     */
+    TokenBucketRateLimiter(int capacity, double refillPerSecond, LongSupplier nanoClock) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        if (!(refillPerSecond > 0) || refillPerSecond > 1_000_000_000L) {
+            throw new IllegalArgumentException("refill-per-second must be in (0, 1e9]: " + refillPerSecond);
+        }
+        double emissionIntervalNanos = 1_000_000_000L / refillPerSecond;
+        if (emissionIntervalNanos * capacity >= Long.MAX_VALUE / 2) {
+            throw new IllegalArgumentException("refill-per-second " + refillPerSecond + " is too low for capacity " + capacity);
+        }
+        this.emissionIntervalNanos = (long) emissionIntervalNanos;
+        this.burstToleranceNanos = this.emissionIntervalNanos * capacity;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * @return 0 if a token was taken, otherwise the nanoseconds until the next token is available
+     */
+    public long tryAcquire(String clientKey) {
+        long now = nanoClock.getAsLong();
+        AtomicLong bucket = buckets.computeIfAbsent(clientKey, key -> new AtomicLong(now));
+
+        while (true) {
+            long arrival = bucket.get();
+            long next = Math.max(arrival, now) + emissionIntervalNanos;
+            long wait = next - now - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops buckets that have refilled completely; they behave exactly like a new bucket.
+     */
+    public void evictIdle() {
+        long now = nanoClock.getAsLong();
+        buckets.values().removeIf(bucket -> bucket.get() <= now);
+    }
+
+    int size() {
+        return buckets.size();
+    }
+}
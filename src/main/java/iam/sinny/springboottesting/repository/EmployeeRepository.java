@@ -1,25 +1,51 @@
 package iam.sinny.springboottesting.repository;
 
 import iam.sinny.springboottesting.model.Employee;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
 
     Optional<Employee> findEmployeeByEmail(String email);
 
+    /** Counts soft-deleted rows too, which still hold their email in the unique index. */
+    @Query(value = "select count(*) from employees e where e.email = ?1", nativeQuery = true)
+    long countByEmailIncludingDeleted(String email);
+
     @Query("select e from Employee e where e.firstName = ?1 and e.lastName = ?2")
     Employee findByJPQL(String firstName, String lastName);
 
     @Query("select e from Employee e where e.firstName = :firstName and e.lastName = :lastName")
     Employee findByJPQLNamedParams(@Param("firstName") String firstName, @Param("lastName") String lastName);
 
-    @Query(value = "select * from employees e where e.first_name = ?1 and e.last_name = ?2", nativeQuery = true)
+    @Query(value = "select * from employees e where e.first_name = ?1 and e.last_name = ?2 and e.deleted_at is null", nativeQuery = true)
     Employee findBynativeSQL(String firstName, String lastName);
 
-    @Query(value = "select * from employees e where e.first_name =:firstName and e.last_name =:lastName", nativeQuery = true)
+    @Query(value = "select * from employees e where e.first_name =:firstName and e.last_name =:lastName and e.deleted_at is null", nativeQuery = true)
     Employee findBynativeSQLWithNamedParams(@Param("firstName") String firstName, @Param("lastName") String lastName);
+
+    @Query("select e from Employee e where e.id > :afterId order by e.id")
+    List<Employee> findPageAfterId(@Param("afterId") long afterId, Pageable pageable);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Employee e set e.deletedAt = :deletedAt where e.id = :id and e.deletedAt is null")
+    int softDeleteById(@Param("id") long id, @Param("deletedAt") Instant deletedAt);
+
+    @Query(value = "select e.id from employees e where e.deleted_at < :cutoff order by e.id limit :limit", nativeQuery = true)
+    List<Long> findSoftDeletedIds(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
+
+    @Transactional
+    @Modifying
+    @Query(value = "delete from employees where id in (:ids) and deleted_at is not null", nativeQuery = true)
+    int purgeByIds(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package iam.sinny.springboottesting.repository;
+
+import iam.sinny.springboottesting.model.Employee;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Where {@code EmployeeServiceImpl} keeps the employees: the {@link EmployeeRepository} on {@code spring.datasource}
+ * ({@link JpaEmployeeStore}), or the shards of {@code employees.sharding.shards} ({@code ShardedEmployeeRepository}).
+ * Soft-deleted employees are hidden unless a method says otherwise.
+ */
+public interface EmployeeStore {
+
+    /**
+     * Inserts employees with id 0 and updates the others.
+     */
+    Employee save(Employee employee);
+
+    Optional<Employee> findById(long id);
+
+    List<Employee> findAll();
+
+    /**
+     * Whether any employee, soft-deleted ones included, has the email; deleted rows keep it until they are purged.
+     */
+    boolean existsByEmailIncludingDeleted(String email);
+
+    void deleteById(long id);
+
+    int softDeleteById(long id, Instant deletedAt);
+}
@@ -0,0 +1,50 @@
+package iam.sinny.springboottesting.repository;
+
+import iam.sinny.springboottesting.model.Employee;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "employees.sharding", name = "enabled", havingValue = "false", matchIfMissing = true)
+@AllArgsConstructor
+public class JpaEmployeeStore implements EmployeeStore {
+
+    EmployeeRepository employeeRepository;
+
+    @Override
+    public Employee save(Employee employee) {
+        return employeeRepository.save(employee);
+    }
+
+    @Override
+    public Optional<Employee> findById(long id) {
+        return employeeRepository.findById(id);
+    }
+
+    @Override
+    public List<Employee> findAll() {
+        return employeeRepository.findAll();
+    }
+
+    @Override
+    public boolean existsByEmailIncludingDeleted(String email) {
+        return employeeRepository.countByEmailIncludingDeleted(email) > 0;
+    }
+
+    @Override
+    public void deleteById(long id) {
+        employeeRepository.deleteById(id);
+    }
+
+    @Override
+    public int softDeleteById(long id, Instant deletedAt) {
+        return employeeRepository.softDeleteById(id, deletedAt);
+    }
+}
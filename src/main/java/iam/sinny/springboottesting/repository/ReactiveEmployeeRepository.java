@@ -0,0 +1,41 @@
+package iam.sinny.springboottesting.repository;
+
+import iam.sinny.springboottesting.model.Employee;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reads exclude soft-deleted rows, like the {@code @SQLRestriction} on {@link Employee} does for JPA.
+ */
+public interface ReactiveEmployeeRepository extends R2dbcRepository<Employee, Long> {
+
+    @Override
+    @Query("select * from employees e where e.deleted_at is null")
+    Flux<Employee> findAll();
+
+    @Override
+    @Query("select * from employees e where e.id = :id and e.deleted_at is null")
+    Mono<Employee> findById(Long id);
+
+    @Query("select * from employees e where e.email = :email and e.deleted_at is null")
+    Mono<Employee> findEmployeeByEmail(String email);
+
+    @Query("select * from employees e where e.first_name = :firstName and e.last_name = :lastName and e.deleted_at is null")
+    Mono<Employee> findByFirstNameAndLastName(String firstName, String lastName);
+
+    /** Counts soft-deleted rows too, which still hold their email in the unique index. */
+    @Query("select count(*) from employees e where e.email = :email")
+    Mono<Long> countByEmailIncludingDeleted(String email);
+
+    /**
+     * @return the number of rows marked, 0 if the employee does not exist or was already deleted
+     */
+    @Modifying
+    @Query("update employees set deleted_at = :deletedAt where id = :id and deleted_at is null")
+    Mono<Integer> softDeleteById(long id, LocalDateTime deletedAt);
+}
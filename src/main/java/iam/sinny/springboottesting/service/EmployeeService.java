@@ -3,6 +3,8 @@ package iam.sinny.springboottesting.service
 
 import iam.sinny.springboottesting.model.Employee;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,8 +14,18 @@ public interface EmployeeService {
 
     List<Employee> getAllEmployees();
 
+    /**
+     * Writes all employees as a UTF-8 JSON array, straight from the stored JSON when the directory is serving.
+     */
+    void writeAllEmployeesJson(OutputStream out) throws IOException;
+
     Optional<Employee> getEmployeeById(long id);
 
+    /**
+     * The employee serialized as UTF-8 JSON, served from a cache for hot employees.
+     */
+    Optional<byte[]> getEmployeeJsonById(long id);
+
     Employee updateEmployee(Employee employee);
 
     void deleteEmployee(long id);
@@ -0,0 +1,21 @@
+package iam.sinny.springboottesting.service;
+
+import java.util.Map;
+
+/**
+ * Employee counts computed by the server, so reporting clients do not have to download the whole table.
+ */
+public interface EmployeeStatsService {
+
+    long countEmployees();
+
+    /**
+     * Employees per upper-cased first letter of the last name, grouped by the database.
+     */
+    Map<String, Long> countByLastNameInitial();
+
+    /**
+     * Employees per lower-cased email domain, computed while streaming the table in parallel id-range slices.
+     */
+    Map<String, Long> countByEmailDomain();
+}
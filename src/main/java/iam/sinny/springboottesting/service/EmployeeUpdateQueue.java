@@ -0,0 +1,19 @@
+package iam.sinny.springboottesting.service;
+
+import iam.sinny.springboottesting.model.Employee;
+import iam.sinny.springboottesting.model.EmployeeUpdateTicket;
+
+import java.util.Optional;
+
+/**
+ * Write-behind queue for employee updates: updates are accepted immediately, coalesced per employee id
+ * and written to the database in batches.
+ */
+public interface EmployeeUpdateQueue {
+
+    EmployeeUpdateTicket submit(long employeeId, Employee employee);
+
+    Optional<EmployeeUpdateTicket> getTicket(String token);
+
+    void flush();
+}
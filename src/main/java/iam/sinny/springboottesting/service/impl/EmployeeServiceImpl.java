@@ -1,50 +1,129 @@
 package iam.sinny.springboottesting.service.impl;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import iam.sinny.springboottesting.cache.EmployeeJsonCache;
+import iam.sinny.springboottesting.config.SoftDeleteProperties;
+import iam.sinny.springboottesting.directory.EmployeeDirectory;
 import iam.sinny.springboottesting.exception.ResourceNotFoundException;
 import iam.sinny.springboottesting.model.Employee;
-import iam.sinny.springboottesting.repository.EmployeeRepository;
+import iam.sinny.springboottesting.repository.EmployeeStore;
 import iam.sinny.springboottesting.service.EmployeeService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * Storage goes through {@link EmployeeStore}, so the same duplicate checks, cache invalidation and directory updates
+ * apply to a single database and to the shards.
+ */
 @Service
+@Profile("!reactive")
 public class EmployeeServiceImpl implements EmployeeService {
 
-    private final EmployeeRepository employeeRepository;
+    private final EmployeeStore employeeStore;
 
-    public EmployeeServiceImpl(EmployeeRepository employeeRepository){
-        this.employeeRepository = employeeRepository;
+    private final EmployeeJsonCache employeeJsonCache;
+
+    private final SoftDeleteProperties softDeleteProperties;
+
+    private final ObjectProvider<EmployeeDirectory> employeeDirectory;
+
+    private final ObjectMapper objectMapper;
+
+    public EmployeeServiceImpl(EmployeeStore employeeStore, EmployeeJsonCache employeeJsonCache,
+                               SoftDeleteProperties softDeleteProperties,
+                               ObjectProvider<EmployeeDirectory> employeeDirectory,
+                               ObjectMapper objectMapper){
+        this.employeeStore = employeeStore;
+        this.employeeJsonCache = employeeJsonCache;
+        this.softDeleteProperties = softDeleteProperties;
+        this.employeeDirectory = employeeDirectory;
+        this.objectMapper = objectMapper;
     }
     @Override
     public Employee saveEmployee(Employee employee) {
-        Optional<Employee> savedEmployee = employeeRepository.findEmployeeByEmail(employee.getEmail());
-
-        if( savedEmployee.isPresent()){
+        // soft-deleted employees keep their email until they are purged
+        if (employeeStore.existsByEmailIncludingDeleted(employee.getEmail())) {
             throw new ResourceNotFoundException("Employee already exists with give email: " + employee.getEmail());
         }
 
-        return employeeRepository.save(employee);
+        Employee newEmployee;
+        try {
+            newEmployee = employeeStore.save(employee);
+        } catch (DataIntegrityViolationException e) {
+            // a concurrent save of the same email got in between the check and the insert
+            if (employeeStore.existsByEmailIncludingDeleted(employee.getEmail())) {
+                throw new ResourceNotFoundException("Employee already exists with give email: " + employee.getEmail(), e);
+            }
+            throw e;
+        }
+        employeeDirectory.ifAvailable(directory -> directory.put(newEmployee));
+        return newEmployee;
     }
 
     @Override
     public List<Employee> getAllEmployees() {
-        return employeeRepository.findAll();
+        EmployeeDirectory directory = servingDirectory();
+        if (directory != null) {
+            return directory.findAll();
+        }
+        return employeeStore.findAll();
+    }
+
+    @Override
+    public void writeAllEmployeesJson(OutputStream out) throws IOException {
+        EmployeeDirectory directory = servingDirectory();
+        if (directory != null) {
+            directory.writeJsonArray(out);
+            return;
+        }
+        objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValue(out, employeeStore.findAll());
     }
 
     @Override
     public Optional<Employee> getEmployeeById(long id) {
-        return employeeRepository.findById(id);
+        return employeeStore.findById(id);
+    }
+
+    @Override
+    public Optional<byte[]> getEmployeeJsonById(long id) {
+        EmployeeDirectory directory = servingDirectory();
+        if (directory != null) {
+            return directory.findJsonById(id);
+        }
+        return employeeJsonCache.get(id, employeeStore::findById);
     }
 
     @Override
     public Employee updateEmployee(Employee employee) {
-        return employeeRepository.save(employee);
+        Employee updatedEmployee = employeeStore.save(employee);
+        employeeJsonCache.invalidate(employee.getId());
+        employeeDirectory.ifAvailable(directory -> directory.put(updatedEmployee));
+        return updatedEmployee;
     }
 
     @Override
     public void deleteEmployee(long id) {
-        employeeRepository.deleteById(id);
+        if (softDeleteProperties.isEnabled()) {
+            // single UPDATE; the row is hard-deleted later by EmployeePurgeJob
+            employeeStore.softDeleteById(id, Instant.now());
+        } else {
+            employeeStore.deleteById(id);
+        }
+        employeeJsonCache.invalidate(id);
+        employeeDirectory.ifAvailable(directory -> directory.remove(id));
+    }
+
+    private EmployeeDirectory servingDirectory() {
+        EmployeeDirectory directory = employeeDirectory.getIfAvailable();
+        return directory != null && directory.isServing() ? directory : null;
     }
 }
\ No newline at end of file
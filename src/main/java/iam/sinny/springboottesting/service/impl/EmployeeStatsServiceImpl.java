@@ -0,0 +1,198 @@
+package iam.sinny.springboottesting.service.impl;
+
+import iam.sinny.springboottesting.service.EmployeeStatsService;
+import iam.sinny.springboottesting.shard.ShardResolver;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs the aggregations on {@code spring.datasource}, or on every shard in parallel when sharding is enabled,
+ * and adds up the partial results.
+ * <p>
+ * Dimensions SQL can compute portably are grouped by the database. The others are computed from id ranges of
+ * {@code employees.stats.slice-size} rows: {@code employees.stats.parallelism} virtual threads per source claim
+ * the ranges one at a time and stream their rows with a row callback into a small per-thread map, so neither the
+ * entities, the full column nor the list of ranges is ever held in memory.
+ */
+@Service
+@Profile("!reactive")
+public class EmployeeStatsServiceImpl implements EmployeeStatsService {
+
+    private static final String LIVE = " from employees where deleted_at is null";
+
+    private final List<JdbcTemplate> sources;
+
+    private final long sliceSize;
+
+    private final int parallelism;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public EmployeeStatsServiceImpl(DataSource dataSource, ObjectProvider<ShardResolver> shardResolver,
+                                    @Value("${employees.stats.slice-size:10000}") long sliceSize,
+                                    @Value("${employees.stats.parallelism:4}") int parallelism,
+                                    @Value("${employees.stats.fetch-size:1000}") int fetchSize) {
+        ShardResolver shards = shardResolver.getIfAvailable();
+        List<DataSource> dataSources = shards == null
+                ? List.of(dataSource)
+                : shards.all().stream().map(ShardResolver.Shard::dataSource).toList();
+
+        List<JdbcTemplate> sources = new ArrayList<>(dataSources.size());
+        for (DataSource source : dataSources) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(source);
+            jdbcTemplate.setFetchSize(fetchSize);
+            sources.add(jdbcTemplate);
+        }
+        this.sources = List.copyOf(sources);
+        this.sliceSize = sliceSize;
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public long countEmployees() {
+        List<Callable<Long>> counts = new ArrayList<>();
+        for (JdbcTemplate source : sources) {
+            counts.add(() -> source.queryForObject("select count(*)" + LIVE, Long.class));
+        }
+        return invokeAll(counts).stream().mapToLong(Long::longValue).sum();
+    }
+
+    @Override
+    public Map<String, Long> countByLastNameInitial() {
+        List<Callable<Map<String, Long>>> groups = new ArrayList<>();
+        for (JdbcTemplate source : sources) {
+            groups.add(() -> {
+                Map<String, Long> counts = new HashMap<>();
+                source.query("select upper(substring(last_name, 1, 1)) as initial, count(*) as employees" + LIVE
+                                + " group by upper(substring(last_name, 1, 1))",
+                        rs -> {
+                            counts.merge(rs.getString("initial"), rs.getLong("employees"), Long::sum);
+                        });
+                return counts;
+            });
+        }
+        return merge(invokeAll(groups));
+    }
+
+    @Override
+    public Map<String, Long> countByEmailDomain() {
+        List<Callable<Map<String, Long>>> workers = new ArrayList<>();
+        for (JdbcTemplate source : sources) {
+            IdSlices slices = new IdSlices(source, sliceSize);
+            for (int i = 0; i < parallelism; i++) {
+                workers.add(() -> {
+                    Map<String, Long> counts = new HashMap<>();
+                    for (long[] slice = slices.next(); slice != null; slice = slices.next()) {
+                        source.query("select email" + LIVE + " and id between ? and ?",
+                                rs -> {
+                                    counts.merge(emailDomain(rs.getString(1)), 1L, Long::sum);
+                                },
+                                slice[0], slice[1]);
+                    }
+                    return counts;
+                });
+            }
+        }
+        return merge(invokeAll(workers));
+    }
+
+    static String emailDomain(String email) {
+        int at = email.lastIndexOf('@');
+        return at < 0 ? "" : email.substring(at + 1).toLowerCase(Locale.ROOT);
+    }
+
+    private static Map<String, Long> merge(List<Map<String, Long>> partials) {
+        Map<String, Long> merged = new TreeMap<>();
+        for (Map<String, Long> partial : partials) {
+            partial.forEach((key, count) -> merged.merge(key, count, Long::sum));
+        }
+        return merged;
+    }
+
+    private <T> List<T> invokeAll(List<Callable<T>> tasks) {
+        List<Future<T>> futures = new ArrayList<>(tasks.size());
+        for (Callable<T> task : tasks) {
+            futures.add(executor.submit(task));
+        }
+
+        List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while aggregating employees", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Employee aggregation failed", e.getCause());
+        }
+        return results;
+    }
+
+    /**
+     * Hands out consecutive id ranges of one source on demand, each covering {@code sliceSize} rows. The end of a
+     * range is found with a keyset seek on the primary key, so gaps in the ids cost nothing and only the ranges
+     * being read are ever materialized. Claims are serialized with a lock rather than {@code synchronized} so a
+     * virtual thread waiting on the seek does not pin its carrier.
+     */
+    private static final class IdSlices {
+
+        private final JdbcTemplate source;
+
+        private final long sliceSize;
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private long nextFrom;
+
+        private boolean exhausted;
+
+        IdSlices(JdbcTemplate source, long sliceSize) {
+            this.source = source;
+            this.sliceSize = sliceSize;
+        }
+
+        /** Returns the next inclusive {@code [from, to]} range, or {@code null} once the whole table has been handed out. */
+        long[] next() {
+            lock.lock();
+            try {
+                if (exhausted) {
+                    return null;
+                }
+                long from = nextFrom;
+                List<Long> boundary = source.queryForList(
+                        "select id from employees where id >= ? order by id limit 1 offset ?", Long.class, from, sliceSize);
+                if (boundary.isEmpty()) {
+                    exhausted = true;
+                    return new long[]{from, Long.MAX_VALUE};
+                }
+                nextFrom = boundary.get(0);
+                return new long[]{from, nextFrom - 1};
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
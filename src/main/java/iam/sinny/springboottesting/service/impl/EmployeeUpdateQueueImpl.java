@@ -0,0 +1,159 @@
+package iam.sinny.springboottesting.service.impl;
+
+import iam.sinny.springboottesting.cache.EmployeeJsonCache;
+import iam.sinny.springboottesting.exception.UpdateQueueFullException;
+import iam.sinny.springboottesting.model.Employee;
+import iam.sinny.springboottesting.model.EmployeeUpdateStatus;
+import iam.sinny.springboottesting.model.EmployeeUpdateTicket;
+import iam.sinny.springboottesting.repository.EmployeeRepository;
+import iam.sinny.springboottesting.service.EmployeeUpdateQueue;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "employees.write-behind", name = "enabled", havingValue = "true")
+public class EmployeeUpdateQueueImpl implements EmployeeUpdateQueue {
+
+    private final EmployeeRepository employeeRepository;
+
+    private final EmployeeJsonCache employeeJsonCache;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+
+    /**
+     * Latest pending update per employee id. A permit of {@link #capacity} is held for every key in the map,
+     * so repeated updates of the same employee coalesce without consuming more capacity.
+     */
+    private final ConcurrentHashMap<Long, PendingUpdate> pending = new ConcurrentHashMap<>();
+
+    private final Semaphore capacity;
+
+    private final Map<String, EmployeeUpdateTicket> tickets;
+
+    public EmployeeUpdateQueueImpl(EmployeeRepository employeeRepository,
+                                   EmployeeJsonCache employeeJsonCache,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${employees.write-behind.capacity:10000}") int capacity,
+                                   @Value("${employees.write-behind.batch-size:100}") int batchSize,
+                                   @Value("${employees.write-behind.ticket-retention:100000}") int ticketRetention) {
+        this.employeeRepository = employeeRepository;
+        this.employeeJsonCache = employeeJsonCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.capacity = new Semaphore(capacity);
+        this.batchSize = batchSize;
+        this.tickets = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, EmployeeUpdateTicket> eldest) {
+                return size() > ticketRetention;
+            }
+        });
+    }
+
+    @Override
+    public EmployeeUpdateTicket submit(long employeeId, Employee employee) {
+        EmployeeUpdateTicket ticket = new EmployeeUpdateTicket(UUID.randomUUID().toString(), employeeId, EmployeeUpdateStatus.QUEUED);
+
+        pending.compute(employeeId, (id, previous) -> {
+            if (previous == null) {
+                if (!capacity.tryAcquire()) {
+                    throw new UpdateQueueFullException("Update queue is full, retry later");
+                }
+            } else {
+                previous.ticket().setStatus(EmployeeUpdateStatus.SUPERSEDED);
+            }
+            return new PendingUpdate(employee, ticket);
+        });
+        tickets.put(ticket.getToken(), ticket);
+
+        return ticket;
+    }
+
+    @Override
+    public Optional<EmployeeUpdateTicket> getTicket(String token) {
+        return Optional.ofNullable(tickets.get(token));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${employees.write-behind.flush-interval-ms:200}")
+    public void flush() {
+        List<PendingUpdate> batch;
+        do {
+            batch = drain();
+            if (!batch.isEmpty()) {
+                write(batch);
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    private List<PendingUpdate> drain() {
+        List<PendingUpdate> batch = new ArrayList<>(batchSize);
+        Iterator<Long> ids = pending.keySet().iterator();
+        while (batch.size() < batchSize && ids.hasNext()) {
+            PendingUpdate update = pending.remove(ids.next());
+            if (update != null) {
+                capacity.release();
+                batch.add(update);
+            }
+        }
+        return batch;
+    }
+
+    private void write(List<PendingUpdate> batch) {
+        Set<Long> found;
+        try {
+            found = transactionTemplate.execute(status -> {
+                Map<Long, Employee> savedEmployees = employeeRepository
+                        .findAllById(batch.stream().map(update -> update.ticket().getEmployeeId()).toList())
+                        .stream()
+                        .collect(Collectors.toMap(Employee::getId, Function.identity()));
+
+                // managed entities, so the changes are flushed as one batch of UPDATEs on commit
+                for (PendingUpdate update : batch) {
+                    Employee savedEmployee = savedEmployees.get(update.ticket().getEmployeeId());
+                    if (savedEmployee != null) {
+                        savedEmployee.setFirstName(update.employee().getFirstName());
+                        savedEmployee.setLastName(update.employee().getLastName());
+                        savedEmployee.setEmail(update.employee().getEmail());
+                    }
+                }
+                return savedEmployees.keySet();
+            });
+        } catch (RuntimeException e) {
+            if (batch.size() > 1) {
+                // one bad row fails the whole batch; retry the rows one by one so only that row is lost
+                log.warn("Failed to flush {} employee updates as a batch, retrying them one by one", batch.size(), e);
+                batch.forEach(update -> write(List.of(update)));
+            } else {
+                log.error("Failed to flush the update of employee {}", batch.get(0).ticket().getEmployeeId(), e);
+                batch.get(0).ticket().setStatus(EmployeeUpdateStatus.FAILED);
+            }
+            return;
+        }
+
+        found.forEach(employeeJsonCache::invalidate);
+        for (PendingUpdate update : batch) {
+            update.ticket().setStatus(found.contains(update.ticket().getEmployeeId())
+                    ? EmployeeUpdateStatus.APPLIED
+                    : EmployeeUpdateStatus.NOT_FOUND);
+        }
+    }
+
+    private record PendingUpdate(Employee employee, EmployeeUpdateTicket ticket) {
+    }
+}
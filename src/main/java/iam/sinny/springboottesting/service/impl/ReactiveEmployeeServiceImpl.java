@@ -0,0 +1,84 @@
+package iam.sinny.springboottesting.service.impl;
+
+import iam.sinny.springboottesting.config.SoftDeleteProperties;
+import iam.sinny.springboottesting.exception.ResourceNotFoundException;
+import iam.sinny.springboottesting.model.Employee;
+import iam.sinny.springboottesting.repository.ReactiveEmployeeRepository;
+import iam.sinny.springboottesting.service.ReactiveEmployeeService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+@Service
+@Profile("reactive")
+public class ReactiveEmployeeServiceImpl implements ReactiveEmployeeService {
+
+    private final ReactiveEmployeeRepository employeeRepository;
+
+    /**
+     * Upper bound of rows requested from the driver at a time while streaming list results,
+     * so a slow client throttles the database cursor instead of buffering the whole table.
+     */
+    private final int fetchSize;
+
+    private final SoftDeleteProperties softDeleteProperties;
+
+    public ReactiveEmployeeServiceImpl(ReactiveEmployeeRepository employeeRepository,
+                                       @Value("${employees.reactive.fetch-size:256}") int fetchSize,
+                                       SoftDeleteProperties softDeleteProperties) {
+        this.employeeRepository = employeeRepository;
+        this.fetchSize = fetchSize;
+        this.softDeleteProperties = softDeleteProperties;
+    }
+
+    @Override
+    public Mono<Employee> saveEmployee(Employee employee) {
+        // soft-deleted employees keep their email until they are purged
+        return emailTaken(employee.getEmail())
+                .flatMap(taken -> taken
+                        ? Mono.<Employee>error(alreadyExists(employee, null))
+                        : employeeRepository.save(employee))
+                // a concurrent save of the same email got in between the check and the insert
+                .onErrorResume(DataIntegrityViolationException.class, e -> emailTaken(employee.getEmail())
+                        .flatMap(taken -> Mono.<Employee>error(taken ? alreadyExists(employee, e) : e)));
+    }
+
+    @Override
+    public Flux<Employee> getAllEmployees() {
+        return employeeRepository.findAll().limitRate(fetchSize);
+    }
+
+    @Override
+    public Mono<Employee> getEmployeeById(long id) {
+        return employeeRepository.findById(id);
+    }
+
+    @Override
+    public Mono<Employee> updateEmployee(Employee employee) {
+        return employeeRepository.save(employee);
+    }
+
+    @Override
+    public Mono<Void> deleteEmployee(long id) {
+        if (softDeleteProperties.isEnabled()) {
+            // single UPDATE; the row is hard-deleted later by EmployeePurgeJob of a blocking node. UTC like the
+            // Instants Hibernate writes, so the purge cutoff applies to both stacks' rows alike
+            return employeeRepository.softDeleteById(id, LocalDateTime.now(ZoneOffset.UTC)).then();
+        }
+        return employeeRepository.deleteById(id);
+    }
+
+    private Mono<Boolean> emailTaken(String email) {
+        return employeeRepository.countByEmailIncludingDeleted(email).map(count -> count > 0);
+    }
+
+    private static ResourceNotFoundException alreadyExists(Employee employee, Throwable cause) {
+        return new ResourceNotFoundException("Employee already exists with give email: " + employee.getEmail(), cause);
+    }
+}
@@ -0,0 +1,50 @@
+package iam.sinny.springboottesting.shard;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Hands out cluster-wide unique employee ids, so the shard of a new employee is known before it is inserted.
+ * Ids are reserved from {@code employee_id_sequence} in blocks; ids of a block left unused at shutdown are skipped.
+ */
+public class EmployeeIdAllocator {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int blockSize;
+
+    private long next;
+
+    private long limit;
+
+    public EmployeeIdAllocator(DataSource sequenceDataSource, int blockSize) {
+        this.jdbcTemplate = new JdbcTemplate(sequenceDataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(sequenceDataSource));
+        this.blockSize = blockSize;
+    }
+
+    public synchronized long nextId() {
+        if (next == limit) {
+            next = reserveBlock();
+            limit = next + blockSize;
+        }
+        return next++;
+    }
+
+    private long reserveBlock() {
+        Long start = transactionTemplate.execute(status -> {
+            Long nextVal = jdbcTemplate.queryForObject("select next_val from employee_id_sequence for update", Long.class);
+            jdbcTemplate.update("update employee_id_sequence set next_val = ?", nextVal + blockSize);
+            return nextVal;
+        });
+        if (start == null) {
+            throw new IllegalStateException("employee_id_sequence is empty");
+        }
+        return start;
+    }
+}
@@ -0,0 +1,23 @@
+package iam.sinny.springboottesting.shard;
+
+/**
+ * Spreads ids evenly over the shards, so consecutive inserts land on different shards.
+ * Changing the number of shards moves most rows.
+ */
+public class HashShardingStrategy implements ShardingStrategy {
+
+    private final int shardCount;
+
+    public HashShardingStrategy(int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        this.shardCount = shardCount;
+    }
+
+    @Override
+    public int shardFor(long employeeId) {
+        long h = employeeId * 0x9E3779B97F4A7C15L;
+        return (int) Math.floorMod(h ^ (h >>> 32), (long) shardCount);
+    }
+}
@@ -0,0 +1,35 @@
+package iam.sinny.springboottesting.shard;
+
+import java.util.Arrays;
+
+/**
+ * Shard {@code i} owns the ids from {@code rangeStarts[i]} up to, but excluding, {@code rangeStarts[i + 1]}.
+ * Ids are allocated in ascending order, so new rows go to the last shard; capacity is added by appending a shard
+ * with a higher range start, without moving existing rows.
+ */
+public class RangeShardingStrategy implements ShardingStrategy {
+
+    private final long[] rangeStarts;
+
+    public RangeShardingStrategy(long... rangeStarts) {
+        if (rangeStarts.length < 1) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        for (int i = 1; i < rangeStarts.length; i++) {
+            if (rangeStarts[i] <= rangeStarts[i - 1]) {
+                throw new IllegalArgumentException("Shard range starts must be ascending: " + Arrays.toString(rangeStarts));
+            }
+        }
+        this.rangeStarts = rangeStarts.clone();
+    }
+
+    @Override
+    public int shardFor(long employeeId) {
+        int position = Arrays.binarySearch(rangeStarts, employeeId);
+        int shard = position >= 0 ? position : -position - 2;
+        if (shard < 0) {
+            throw new IllegalArgumentException("No shard owns employee id " + employeeId);
+        }
+        return shard;
+    }
+}
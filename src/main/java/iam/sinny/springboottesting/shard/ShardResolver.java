@@ -0,0 +1,51 @@
+package iam.sinny.springboottesting.shard;
+
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The employee shards, each with its own connection pool, and the strategy routing an employee id to one of them.
+ * Closing the resolver closes the pools.
+ */
+public class ShardResolver implements AutoCloseable {
+
+    private final List<Shard> shards;
+
+    private final ShardingStrategy strategy;
+
+    public ShardResolver(List<? extends DataSource> dataSources, ShardingStrategy strategy) {
+        List<Shard> shards = new ArrayList<>(dataSources.size());
+        for (int i = 0; i < dataSources.size(); i++) {
+            shards.add(new Shard(i, dataSources.get(i), new NamedParameterJdbcTemplate(dataSources.get(i))));
+        }
+        this.shards = List.copyOf(shards);
+        this.strategy = strategy;
+    }
+
+    public Shard shardFor(long employeeId) {
+        return shards.get(strategy.shardFor(employeeId));
+    }
+
+    public Shard shard(int index) {
+        return shards.get(index);
+    }
+
+    public List<Shard> all() {
+        return shards;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Shard shard : shards) {
+            if (shard.dataSource() instanceof AutoCloseable pool) {
+                pool.close();
+            }
+        }
+    }
+
+    public record Shard(int index, DataSource dataSource, NamedParameterJdbcTemplate jdbcTemplate) {
+    }
+}
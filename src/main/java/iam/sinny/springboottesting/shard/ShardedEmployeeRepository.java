@@ -0,0 +1,171 @@
+package iam.sinny.springboottesting.shard;
+
+import iam.sinny.springboottesting.exception.ResourceNotFoundException;
+import iam.sinny.springboottesting.model.Employee;
+import iam.sinny.springboottesting.repository.EmployeeStore;
+import iam.sinny.springboottesting.shard.ShardResolver.Shard;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * {@code EmployeeRepository} operations over the shards of a {@link ShardResolver}. Lookups by id go to the
+ * owning shard; everything else is sent to all shards in parallel and the results are merged in id order.
+ * <p>
+ * The email index is unique per shard only. {@link #existsByEmailIncludingDeleted(String)} checks every shard, but
+ * that check and the insert are not atomic across shards, so email uniqueness is best-effort: two concurrent
+ * creates of the same email whose new ids map to different shards can both succeed. Creates landing on the same
+ * shard are still rejected by its unique index.
+ */
+public class ShardedEmployeeRepository implements EmployeeStore, AutoCloseable {
+
+    private static final String COLUMNS = "select id, first_name, last_name, email from employees e ";
+
+    private static final RowMapper<Employee> EMPLOYEE_ROW_MAPPER = (rs, rowNum) -> Employee.builder()
+            .id(rs.getLong("id"))
+            .firstName(rs.getString("first_name"))
+            .lastName(rs.getString("last_name"))
+            .email(rs.getString("email"))
+            .build();
+
+    private final ShardResolver shardResolver;
+
+    private final EmployeeIdAllocator idAllocator;
+
+    /** One virtual thread per shard query; concurrency per shard is bounded by its connection pool. */
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ShardedEmployeeRepository(ShardResolver shardResolver, EmployeeIdAllocator idAllocator) {
+        this.shardResolver = shardResolver;
+        this.idAllocator = idAllocator;
+    }
+
+    /**
+     * Inserts employees without an id under a newly allocated one, and updates the others in place.
+     *
+     * @throws ResourceNotFoundException if the employee to update does not exist (anymore)
+     */
+    @Override
+    public Employee save(Employee employee) {
+        if (employee.getId() == 0) {
+            employee.setId(idAllocator.nextId());
+            shardResolver.shardFor(employee.getId()).jdbcTemplate().update(
+                    "insert into employees (id, first_name, last_name, email) values (:id, :firstName, :lastName, :email)",
+                    parameters(employee));
+        } else {
+            int updated = shardResolver.shardFor(employee.getId()).jdbcTemplate().update(
+                    "update employees set first_name = :firstName, last_name = :lastName, email = :email "
+                            + "where id = :id and deleted_at is null",
+                    parameters(employee));
+            if (updated == 0) {
+                throw new ResourceNotFoundException("Employee not found with id: " + employee.getId());
+            }
+        }
+        return employee;
+    }
+
+    @Override
+    public Optional<Employee> findById(long id) {
+        return shardResolver.shardFor(id).jdbcTemplate()
+                .query(COLUMNS + "where e.id = :id and e.deleted_at is null", Map.of("id", id), EMPLOYEE_ROW_MAPPER)
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public List<Employee> findAll() {
+        return scatter(jdbcTemplate -> jdbcTemplate.query(
+                COLUMNS + "where e.deleted_at is null", Map.of(), EMPLOYEE_ROW_MAPPER));
+    }
+
+    public Optional<Employee> findEmployeeByEmail(String email) {
+        return scatter(jdbcTemplate -> jdbcTemplate.query(
+                COLUMNS + "where e.email = :email and e.deleted_at is null", Map.of("email", email), EMPLOYEE_ROW_MAPPER))
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public boolean existsByEmailIncludingDeleted(String email) {
+        return !gather(jdbcTemplate -> jdbcTemplate.queryForList(
+                "select e.id from employees e where e.email = :email", Map.of("email", email), Long.class))
+                .isEmpty();
+    }
+
+    public List<Employee> findByFirstNameAndLastName(String firstName, String lastName) {
+        return scatter(jdbcTemplate -> jdbcTemplate.query(
+                COLUMNS + "where e.first_name = :firstName and e.last_name = :lastName and e.deleted_at is null",
+                Map.of("firstName", firstName, "lastName", lastName), EMPLOYEE_ROW_MAPPER));
+    }
+
+    @Override
+    public void deleteById(long id) {
+        shardResolver.shardFor(id).jdbcTemplate().update("delete from employees where id = :id", Map.of("id", id));
+    }
+
+    @Override
+    public int softDeleteById(long id, Instant deletedAt) {
+        return shardResolver.shardFor(id).jdbcTemplate().update(
+                "update employees set deleted_at = :deletedAt where id = :id and deleted_at is null",
+                Map.of("id", id, "deletedAt", Timestamp.from(deletedAt)));
+    }
+
+    @Override
+    public void close() {
+        executor.close();
+    }
+
+    private List<Employee> scatter(Function<NamedParameterJdbcTemplate, List<Employee>> query) {
+        List<Employee> merged = gather(query);
+        merged.sort(Comparator.comparingLong(Employee::getId));
+        return merged;
+    }
+
+    private <T> List<T> gather(Function<NamedParameterJdbcTemplate, List<T>> query) {
+        List<Future<List<T>>> results = new ArrayList<>();
+        for (Shard shard : shardResolver.all()) {
+            results.add(executor.submit(() -> query.apply(shard.jdbcTemplate())));
+        }
+
+        List<T> merged = new ArrayList<>();
+        for (Future<List<T>> result : results) {
+            merged.addAll(await(result));
+        }
+        return merged;
+    }
+
+    private static <T> T await(Future<T> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while querying the employee shards", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Employee shard query failed", e.getCause());
+        }
+    }
+
+    private static MapSqlParameterSource parameters(Employee employee) {
+        return new MapSqlParameterSource()
+                .addValue("id", employee.getId())
+                .addValue("firstName", employee.getFirstName())
+                .addValue("lastName", employee.getLastName())
+                .addValue("email", employee.getEmail());
+    }
+}
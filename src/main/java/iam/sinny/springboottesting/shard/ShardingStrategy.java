@@ -0,0 +1,9 @@
+package iam.sinny.springboottesting.shard;
+
+/**
+ * Maps an employee id to the index of the shard that owns the row.
+ */
+public interface ShardingStrategy {
+
+    int shardFor(long employeeId);
+}
@@ -0,0 +1,63 @@
+package iam.sinny.springboottesting.trace;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The spans of one sampled request. Only the request's thread writes to it; it is read once it is finished.
+ */
+@Getter
+public class RequestTrace {
+
+    private final String method;
+
+    private final String path;
+
+    private final Instant startedAt = Instant.now();
+
+    @JsonIgnore
+    private final long startNanos = System.nanoTime();
+
+    @JsonIgnore
+    private long durationNanos;
+
+    private int status;
+
+    private final List<TraceSpan> spans = new ArrayList<>();
+
+    @JsonIgnore
+    private int depth;
+
+    RequestTrace(String method, String path) {
+        this.method = method;
+        this.path = path;
+    }
+
+    TraceSpan openSpan(String name) {
+        TraceSpan span = new TraceSpan(name, depth++, System.nanoTime() - startNanos);
+        spans.add(span);
+        return span;
+    }
+
+    void closeSpan(TraceSpan span) {
+        span.end(System.nanoTime() - startNanos);
+        depth--;
+    }
+
+    void finish(int status) {
+        finish(status, System.nanoTime() - startNanos);
+    }
+
+    void finish(int status, long durationNanos) {
+        this.status = status;
+        this.durationNanos = durationNanos;
+    }
+
+    public long getDurationMicros() {
+        return durationNanos / 1_000;
+    }
+}
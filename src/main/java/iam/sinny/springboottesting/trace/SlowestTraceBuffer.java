@@ -0,0 +1,123 @@
+package iam.sinny.springboottesting.trace;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * The {@code employees.tracing.buffer-size} slowest finished traces (of at least {@code employees.tracing.min-duration})
+ * per {@code employees.tracing.window}. {@link #slowest(int)} reads the current and the previous window, so a slow
+ * outlier stays visible for one to two windows however many faster requests follow it.
+ * <p>
+ * Once a window is full, a trace not slower than the fastest it keeps is dropped after one volatile read; only the
+ * traces that make it into the top-N take the window's lock.
+ */
+@Component
+@Profile("!reactive")
+public class SlowestTraceBuffer {
+
+    private final int bufferSize;
+
+    private final long minDurationNanos;
+
+    private final long windowMillis;
+
+    private final Clock clock;
+
+    private volatile Window current;
+
+    private volatile Window previous;
+
+    @Autowired
+    public SlowestTraceBuffer(@Value("${employees.tracing.buffer-size:100}") int bufferSize,
+                              @Value("${employees.tracing.min-duration:0ms}") Duration minDuration,
+                              @Value("${employees.tracing.window:1m}") Duration window) {
+        this(bufferSize, minDuration, window, Clock.systemUTC());
+    }
+
+    SlowestTraceBuffer(int bufferSize, Duration minDuration, Duration window, Clock clock) {
+        this.bufferSize = bufferSize;
+        this.minDurationNanos = minDuration.toNanos();
+        this.windowMillis = window.toMillis();
+        this.clock = clock;
+        this.current = new Window(clock.millis());
+    }
+
+    public void offer(RequestTrace trace) {
+        if (trace.getDurationNanos() >= minDurationNanos) {
+            window().offer(trace);
+        }
+    }
+
+    public List<RequestTrace> slowest(int limit) {
+        Window window = window();
+        Window before = previous;
+        List<RequestTrace> traces = window.traces();
+        if (before != null) {
+            traces.addAll(before.traces());
+        }
+        traces.sort(Comparator.comparingLong(RequestTrace::getDurationNanos).reversed());
+        return traces.subList(0, Math.min(limit, traces.size()));
+    }
+
+    private Window window() {
+        long now = clock.millis();
+        Window window = current;
+        if (now - window.start < windowMillis) {
+            return window;
+        }
+        synchronized (this) {
+            window = current;
+            long elapsed = now - window.start;
+            if (elapsed >= windowMillis) {
+                long start = now - elapsed % windowMillis;
+                // a window is only "previous" if it directly precedes the new one
+                previous = start - window.start == windowMillis ? window : null;
+                current = window = new Window(start);
+            }
+            return window;
+        }
+    }
+
+    private final class Window {
+
+        private final long start;
+
+        private final PriorityQueue<RequestTrace> traces =
+                new PriorityQueue<>(Comparator.comparingLong(RequestTrace::getDurationNanos));
+
+        /** Duration a trace has to exceed once the window is full, -1 until then. */
+        private volatile long threshold = -1;
+
+        private Window(long start) {
+            this.start = start;
+        }
+
+        void offer(RequestTrace trace) {
+            if (trace.getDurationNanos() <= threshold) {
+                return;
+            }
+            synchronized (this) {
+                traces.add(trace);
+                if (traces.size() > bufferSize) {
+                    traces.poll();
+                }
+                if (traces.size() == bufferSize) {
+                    threshold = traces.peek().getDurationNanos();
+                }
+            }
+        }
+
+        synchronized List<RequestTrace> traces() {
+            return new ArrayList<>(traces);
+        }
+    }
+}
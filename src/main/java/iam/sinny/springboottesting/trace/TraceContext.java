@@ -0,0 +1,42 @@
+package iam.sinny.springboottesting.trace;
+
+/**
+ * The trace of the request being handled on the current thread, if it was sampled. Work handed to other threads
+ * (e.g. shard scatter-gather) is not traced.
+ */
+public final class TraceContext {
+
+    private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+
+    private TraceContext() {
+    }
+
+    public static boolean isSampled() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * @return the opened span, or {@code null} if the current request is not sampled
+     */
+    public static TraceSpan openSpan(String name) {
+        RequestTrace trace = CURRENT.get();
+        return trace == null ? null : trace.openSpan(name);
+    }
+
+    public static void closeSpan(TraceSpan span) {
+        RequestTrace trace = CURRENT.get();
+        if (span != null && trace != null) {
+            trace.closeSpan(span);
+        }
+    }
+
+    static RequestTrace begin(String method, String path) {
+        RequestTrace trace = new RequestTrace(method, path);
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,42 @@
+package iam.sinny.springboottesting.trace;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+
+/**
+ * One timed step of a request, e.g. {@code repository.findEmployeeByEmail}. Times are relative to the request start.
+ */
+@Getter
+public class TraceSpan {
+
+    private final String name;
+
+    private final int depth;
+
+    @JsonIgnore
+    private final long startNanos;
+
+    @JsonIgnore
+    private long durationNanos = -1;
+
+    TraceSpan(String name, int depth, long startNanos) {
+        this.name = name;
+        this.depth = depth;
+        this.startNanos = startNanos;
+    }
+
+    void end(long endNanos) {
+        durationNanos = endNanos - startNanos;
+    }
+
+    public long getStartMicros() {
+        return startNanos / 1_000;
+    }
+
+    /**
+     * -1 for a span still open when the request finished.
+     */
+    public long getDurationMicros() {
+        return durationNanos < 0 ? -1 : durationNanos / 1_000;
+    }
+}
@@ -0,0 +1,53 @@
+package iam.sinny.springboottesting.trace;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Spans around the controller, service and repository calls of sampled requests.
+ */
+@Aspect
+@Component
+@Profile("!reactive")
+public class TracingAspect {
+
+    @Around("within(iam.sinny.springboottesting.controller..*) && @within(org.springframework.web.bind.annotation.RestController)")
+    public Object traceController(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!TraceContext.isSampled()) {
+            return joinPoint.proceed();
+        }
+        return trace("controller." + joinPoint.getSignature().getName(), joinPoint);
+    }
+
+    @Around("within(iam.sinny.springboottesting.service..*)")
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!TraceContext.isSampled()) {
+            return joinPoint.proceed();
+        }
+        return trace("service." + joinPoint.getSignature().getDeclaringType().getSimpleName()
+                + "." + joinPoint.getSignature().getName(), joinPoint);
+    }
+
+    /**
+     * Matched on the target, so inherited methods such as {@code save} and {@code findById} are included.
+     */
+    @Around("target(iam.sinny.springboottesting.repository.EmployeeRepository)")
+    public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!TraceContext.isSampled()) {
+            return joinPoint.proceed();
+        }
+        return trace("repository." + joinPoint.getSignature().getName(), joinPoint);
+    }
+
+    private static Object trace(String spanName, ProceedingJoinPoint joinPoint) throws Throwable {
+        TraceSpan span = TraceContext.openSpan(spanName);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            TraceContext.closeSpan(span);
+        }
+    }
+}
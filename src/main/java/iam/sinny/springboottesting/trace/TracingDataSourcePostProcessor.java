@@ -0,0 +1,40 @@
+package iam.sinny.springboottesting.trace;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Wraps the {@code DataSource} so sampled requests get a {@code jdbc.getConnection} span, i.e. the connection pool
+ * wait. Boot's pool metrics and health checks unwrap {@link DelegatingDataSource}s.
+ */
+public class TracingDataSourcePostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof TracingDataSource)) {
+            return new TracingDataSource(dataSource);
+        }
+        return bean;
+    }
+
+    static class TracingDataSource extends DelegatingDataSource {
+
+        TracingDataSource(DataSource targetDataSource) {
+            super(targetDataSource);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            TraceSpan span = TraceContext.openSpan("jdbc.getConnection");
+            try {
+                return super.getConnection();
+            } finally {
+                TraceContext.closeSpan(span);
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package iam.sinny.springboottesting.trace;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Traces {@code employees.tracing.sample-rate} of the API requests. Unsampled requests cost one random number here
+ * and a thread-local read per traced method.
+ */
+@Component
+@Profile("!reactive")
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class TracingFilter extends OncePerRequestFilter {
+
+    private final ObjectProvider<SlowestTraceBuffer> slowestTraceBuffer;
+
+    private final double sampleRate;
+
+    public TracingFilter(ObjectProvider<SlowestTraceBuffer> slowestTraceBuffer,
+                         @Value("${employees.tracing.sample-rate:0.1}") double sampleRate) {
+        this.slowestTraceBuffer = slowestTraceBuffer;
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return sampleRate <= 0 || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RequestTrace trace = TraceContext.begin(request.getMethod(), request.getRequestURI());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            TraceContext.end();
+            trace.finish(response.getStatus());
+            slowestTraceBuffer.ifAvailable(buffer -> buffer.offer(trace));
+        }
+    }
+}
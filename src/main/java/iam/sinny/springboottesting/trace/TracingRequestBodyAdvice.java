@@ -0,0 +1,42 @@
+package iam.sinny.springboottesting.trace;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+
+/**
+ * {@code request-body.read} span around reading and parsing {@code @RequestBody} arguments, which happens before
+ * the controller span starts.
+ */
+@ControllerAdvice
+@Profile("!reactive")
+public class TracingRequestBodyAdvice extends RequestBodyAdviceAdapter {
+
+    private static final ThreadLocal<TraceSpan> READING = new ThreadLocal<>();
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return TraceContext.isSampled();
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                           Class<? extends HttpMessageConverter<?>> converterType) {
+        READING.set(TraceContext.openSpan("request-body.read"));
+        return inputMessage;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        TraceContext.closeSpan(READING.get());
+        READING.remove();
+        return body;
+    }
+}
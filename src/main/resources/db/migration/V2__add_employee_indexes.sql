@@ -0,0 +1,19 @@
+-- The unique email index cannot be created while rows share an email. Rather than picking which duplicate to drop,
+-- the migration stops with "Check constraint 'chk_employees_no_duplicate_emails' is violated"; list them with
+--   select email, count(*) from employees group by email having count(*) > 1;
+-- resolve them, then run "flyway repair" (MySQL cannot roll the failed migration back) and start again.
+drop table if exists employees_email_check;
+create table employees_email_check
+(
+    duplicate_emails bigint not null,
+    constraint chk_employees_no_duplicate_emails check (duplicate_emails = 0)
+);
+insert into employees_email_check (duplicate_emails)
+select count(*) from (select email from employees group by email having count(*) > 1) duplicates;
+drop table employees_email_check;
+
+-- saveEmployee / findEmployeeByEmail
+create unique index uk_employees_email on employees (email);
+
+-- findByJPQL, findByJPQLNamedParams, findBynativeSQL, findBynativeSQLWithNamedParams
+create index idx_employees_last_name_first_name on employees (last_name, first_name);
@@ -0,0 +1,10 @@
+-- Global employee ids for the sharded mode (employees.sharding.enabled); only the copy on the first shard is used,
+-- handed out in blocks by EmployeeIdAllocator
+create table employee_id_sequence
+(
+    next_val bigint not null
+);
+-- start above the existing rows, which keep their ids (the rows of a database being split into shards are on the
+-- first shard at this point)
+insert into employee_id_sequence (next_val)
+select coalesce(max(id), 0) + 1 from employees;
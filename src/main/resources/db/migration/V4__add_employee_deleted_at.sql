@@ -0,0 +1,6 @@
+-- Soft delete (employees.soft-delete.enabled): rows with deleted_at set are hidden from the application and
+-- hard-deleted by EmployeePurgeJob once they are older than the retention
+alter table employees add column deleted_at datetime(6);
+
+-- EmployeePurgeJob (findSoftDeletedIds)
+create index idx_employees_deleted_at on employees (deleted_at);
@@ -0,0 +1,8 @@
+create table if not exists employees
+(
+    id         bigint auto_increment primary key,
+    first_name varchar(255) not null,
+    last_name  varchar(255) not null,
+    email      varchar(255) not null,
+    deleted_at timestamp(6)
+);
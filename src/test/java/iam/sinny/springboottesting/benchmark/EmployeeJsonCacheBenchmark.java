@@ -0,0 +1,55 @@
+package iam.sinny.springboottesting.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import iam.sinny.springboottesting.cache.EmployeeJsonCache;
+import iam.sinny.springboottesting.cache.InMemorySharedEmployeeCache;
+import iam.sinny.springboottesting.cache.LoopbackCacheInvalidationTransport;
+import iam.sinny.springboottesting.model.Employee;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of writing a {@code GET /api/employees/{id}} body: serializing the entity on every
+ * request versus copying the bytes kept by {@link EmployeeJsonCache}. Run with the default gc profiler
+ * to compare {@code gc.alloc.rate.norm} (bytes allocated per operation).
+ * <p>
+ * mvn -Pbenchmark verify -DskipTests -Dbenchmark.include=EmployeeJsonCacheBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeJsonCacheBenchmark {
+
+    ObjectMapper objectMapper;
+
+    EmployeeJsonCache employeeJsonCache;
+
+    Employee employee;
+
+    OutputStream response = OutputStream.nullOutputStream();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        objectMapper = new ObjectMapper();
+        employeeJsonCache = new EmployeeJsonCache(objectMapper, 1_000,
+                new InMemorySharedEmployeeCache(1_000), new LoopbackCacheInvalidationTransport(), "benchmark");
+        employee = Employee.builder().id(1L).firstName("sin").lastName("kang").email("jlc488@gmail.com").build();
+    }
+
+    @Benchmark
+    public void serializeEntity() throws IOException {
+        response.write(objectMapper.writeValueAsBytes(employee));
+    }
+
+    @Benchmark
+    public void cachedBytes() throws IOException {
+        response.write(employeeJsonCache.get(employee.getId(), id -> Optional.of(employee)).orElseThrow());
+    }
+}
@@ -0,0 +1,67 @@
+package iam.sinny.springboottesting.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import iam.sinny.springboottesting.model.Employee;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization time and payload size of a {@code GET /api/employees} body per wire format.
+ * Payload sizes are printed once per trial, times are reported by JMH.
+ * <p>
+ * mvn -Pbenchmark verify -DskipTests -Dbenchmark.include=EmployeeSerializationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeSerializationBenchmark {
+
+    @Param({"json", "json+gzip", "cbor", "smile"})
+    String format;
+
+    @Param({"100", "10000"})
+    int employees;
+
+    ObjectMapper objectMapper;
+
+    boolean gzip;
+
+    List<Employee> list;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        objectMapper = switch (format) {
+            case "cbor" -> new ObjectMapper(new CBORFactory());
+            case "smile" -> new ObjectMapper(new SmileFactory());
+            default -> new ObjectMapper();
+        };
+        gzip = format.endsWith("+gzip");
+        list = LongStream.rangeClosed(1, employees)
+                .mapToObj(id -> Employee.builder().id(id)
+                        .firstName("first" + id).lastName("last" + id).email("employee" + id + "@gmail.com").build())
+                .toList();
+
+        System.out.printf("%n[payload] format=%s employees=%d bytes=%d%n", format, employees, serialize().length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(employees * 64);
+        try (OutputStream out = gzip ? new GZIPOutputStream(bytes) : bytes) {
+            objectMapper.writeValue(out, list);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,131 @@
+package iam.sinny.springboottesting.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import iam.sinny.springboottesting.model.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two nodes in one process sharing the in-JVM shared tier and loopback transport.
+ */
+public class EmployeeJsonCacheTests {
+
+    EmployeeJsonCache node1;
+
+    EmployeeJsonCache node2;
+
+    Employee employee;
+
+    AtomicInteger databaseReads;
+
+    @BeforeEach
+    public void setup() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        SharedEmployeeCache sharedCache = new InMemorySharedEmployeeCache(100);
+        CacheInvalidationTransport transport = new LoopbackCacheInvalidationTransport();
+        node1 = new EmployeeJsonCache(objectMapper, 100, sharedCache, transport, "node-1");
+        node2 = new EmployeeJsonCache(objectMapper, 100, sharedCache, transport, "node-2");
+
+        employee = Employee.builder().id(1L).firstName("sin").lastName("kang").email("jlc488@gmail.com").build();
+        databaseReads = new AtomicInteger();
+    }
+
+    //JUnit Test for the shared tier
+    @Test
+    @DisplayName("Serve another node's load from the shared tier")
+    public void givenEmployeeLoadedOnOneNode_whenGetOnOtherNode_thenDatabaseIsNotRead() {
+        //give - precondition or setup
+        node1.get(1L, database());
+
+        //when - action or the behaviour that we are test
+        Optional<byte[]> json = node2.get(1L, database());
+
+        //then - verify the output
+        assertThat(json).isPresent();
+        assertThat(databaseReads).hasValue(1);
+    }
+
+    //JUnit Test for cross-node invalidation
+    @Test
+    @DisplayName("Invalidate near caches of all nodes on write")
+    public void givenEmployeeCachedOnBothNodes_whenInvalidateOnOneNode_thenOtherNodeReloads() {
+        //give - precondition or setup
+        node1.get(1L, database());
+        node2.get(1L, database());
+
+        //when - action or the behaviour that we are test
+        employee.setFirstName("sinny");
+        node2.invalidate(1L);
+        Optional<byte[]> json = node1.get(1L, database());
+
+        //then - verify the output
+        assertThat(new String(json.orElseThrow(), StandardCharsets.UTF_8)).contains("sinny");
+        assertThat(databaseReads).hasValue(2);
+    }
+
+    //JUnit Test for stale write protection
+    @Test
+    @DisplayName("Do not cache a load that raced with a write")
+    public void givenWriteDuringLoad_whenLoadCompletes_thenStaleJsonIsNotCached() {
+        //give - precondition or setup
+        LongFunction<Optional<Employee>> slowRead = id -> {
+            Employee stale = Employee.builder().id(id).firstName("stale").lastName("kang").email("jlc488@gmail.com").build();
+            // another node writes after this read but before the load is cached
+            node2.invalidate(id);
+            databaseReads.incrementAndGet();
+            return Optional.of(stale);
+        };
+
+        //when - action or the behaviour that we are test
+        node1.get(1L, slowRead);
+        Optional<byte[]> node1Json = node1.get(1L, database());
+        Optional<byte[]> node2Json = node2.get(1L, database());
+
+        //then - verify the output
+        assertThat(new String(node1Json.orElseThrow(), StandardCharsets.UTF_8)).doesNotContain("stale");
+        assertThat(new String(node2Json.orElseThrow(), StandardCharsets.UTF_8)).doesNotContain("stale");
+        assertThat(databaseReads).hasValue(2);
+    }
+
+    //JUnit Test for versions surviving an eviction from the shared tier
+    @Test
+    @DisplayName("Invalidate near caches after the shared tier evicted the employee")
+    public void givenEmployeeEvictedFromSharedTier_whenInvalidate_thenOtherNodeReloads() {
+        //give - precondition or setup
+        ObjectMapper objectMapper = new ObjectMapper();
+        // one entry, evicting on the calling thread
+        SharedEmployeeCache sharedCache = new InMemorySharedEmployeeCache(1, Runnable::run);
+        CacheInvalidationTransport transport = new LoopbackCacheInvalidationTransport();
+        node1 = new EmployeeJsonCache(objectMapper, 100, sharedCache, transport, "node-1");
+        node2 = new EmployeeJsonCache(objectMapper, 100, sharedCache, transport, "node-2");
+        node1.invalidate(1L);
+        node1.get(1L, database());
+        Employee other = Employee.builder().id(2L).firstName("sin2").lastName("kang2").email("s2@gmail.com").build();
+        node2.get(2L, id -> Optional.of(other));
+        assertThat(sharedCache.get(1L)).isEmpty();
+
+        //when - action or the behaviour that we are test
+        employee.setFirstName("sinny");
+        node2.invalidate(1L);
+        Optional<byte[]> json = node1.get(1L, database());
+
+        //then - verify the output
+        assertThat(new String(json.orElseThrow(), StandardCharsets.UTF_8)).contains("sinny");
+        assertThat(databaseReads).hasValue(2);
+    }
+
+    private LongFunction<Optional<Employee>> database() {
+        return id -> {
+            databaseReads.incrementAndGet();
+            return Optional.of(employee);
+        };
+    }
+}
@@ -0,0 +1,27 @@
+package iam.sinny.springboottesting.config;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RateLimitPropertiesTests {
+
+    //JUnit Test for a limit that cannot be enforced
+    @Test
+    @DisplayName("Reject a zero refill rate naming the property")
+    public void givenZeroRefillRate_whenValidate_thenThrowsExceptionNamingProperty() {
+        //give - precondition or setup
+        RateLimitProperties properties = new RateLimitProperties();
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+        limit.setRefillPerSecond(0);
+        properties.getEndpoints().put("getAllEmployees", limit);
+
+        //when - action or the behaviour that we are test
+        IllegalStateException exception = Assertions.assertThrows(IllegalStateException.class, properties::validate);
+
+        //then - verify the output
+        assertThat(exception).hasMessageContaining("employees.rate-limit.endpoints.getAllEmployees.refill-per-second");
+    }
+}
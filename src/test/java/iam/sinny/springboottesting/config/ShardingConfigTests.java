@@ -0,0 +1,43 @@
+package iam.sinny.springboottesting.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ShardingConfigTests {
+
+    ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(ShardingConfig.class)
+            .withPropertyValues("employees.sharding.enabled=true");
+
+    //JUnit Test for features that bypass the shards
+    @Test
+    @DisplayName("Refuse sharding together with spring.datasource-only features")
+    public void givenShardingWithWriteBehindAndDirectory_whenStart_thenFailsNamingBoth() {
+        //when - action or the behaviour that we are test
+        contextRunner.withPropertyValues("employees.write-behind.enabled=true", "employees.directory.enabled=true")
+                .run(context -> {
+                    //then - verify the output
+                    assertThat(context).hasFailed();
+                    assertThat(context.getStartupFailure()).rootCause()
+                            .isInstanceOf(IllegalStateException.class)
+                            .hasMessageContaining("employees.write-behind.enabled, employees.directory.enabled");
+                });
+    }
+
+    //JUnit Test for soft delete with sharding
+    @Test
+    @DisplayName("Refuse sharding together with soft delete")
+    public void givenShardingWithSoftDelete_whenStart_thenFails() {
+        //when - action or the behaviour that we are test
+        contextRunner.withPropertyValues("employees.soft-delete.enabled=true")
+                .run(context -> {
+                    //then - verify the output
+                    assertThat(context).hasFailed();
+                    assertThat(context.getStartupFailure()).rootCause()
+                            .hasMessageContaining("employees.soft-delete.enabled");
+                });
+    }
+}
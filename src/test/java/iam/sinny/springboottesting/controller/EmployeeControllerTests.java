@@ -1,38 +1,87 @@
 package iam.sinny.springboottesting.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import iam.sinny.springboottesting.config.JacksonFormatsConfig;
+import iam.sinny.springboottesting.exception.ResourceNotFoundException;
+import iam.sinny.springboottesting.idempotency.IdempotencyStore;
 import iam.sinny.springboottesting.model.Employee;
-import iam.sinny.springboottesting.service.EmployeeService;
+import iam.sinny.springboottesting.trace.SlowestTraceBuffer;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
-import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 
-import java.util.ArrayList;
+import java.time.Duration;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.is;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.BDDMockito.given;
-import static org.mockito.BDDMockito.willDoNothing;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest
+@Import({JacksonFormatsConfig.class, IdempotencyStore.class})
 public class EmployeeControllerTests {
 
     @Autowired
     MockMvc mockMvc;
 
-    @MockBean
-    EmployeeService employeeService;
+    @Autowired
+    StubEmployeeService employeeService;
+
+    @Autowired
+    StubEmployeeUpdateQueue employeeUpdateQueue;
+
+    @Autowired
+    StubEmployeeStatsService employeeStatsService;
+
+    /**
+     * Hand-written stubs instead of {@code @MockBean} or Mockito mocks, so the test context can be processed ahead of
+     * time and the tests run in the native image ({@code mvn -PnativeTest test}) as well as on the JVM.
+     */
+    @TestConfiguration
+    static class StubServiceConfig {
+
+        @Bean
+        StubEmployeeService employeeService(ObjectMapper objectMapper) {
+            return new StubEmployeeService(objectMapper);
+        }
+
+        @Bean
+        StubEmployeeUpdateQueue employeeUpdateQueue() {
+            return new StubEmployeeUpdateQueue();
+        }
+
+        @Bean
+        StubEmployeeStatsService employeeStatsService() {
+            return new StubEmployeeStatsService();
+        }
+
+        @Bean
+        SlowestTraceBuffer slowestTraceBuffer() {
+            return new SlowestTraceBuffer(16, Duration.ZERO, Duration.ofMinutes(1));
+        }
+    }
+
+    @AfterEach
+    public void resetStubs() {
+        employeeService.reset();
+        employeeUpdateQueue.reset();
+        employeeStatsService.reset();
+    }
 
     @Autowired
     ObjectMapper objectMapper;
@@ -44,9 +93,6 @@ public class EmployeeControllerTests {
         //give - precondition or setup
         Employee employee = Employee.builder().firstName("sin").lastName("kang").email("emp@gmail.com").build();
 
-        given(employeeService.saveEmployee(any(Employee.class)))
-                .willAnswer((invocation) -> invocation.getArgument(0));
-
         //when - action or the behaviour that we are test
         ResultActions response = mockMvc.perform(post("/api/employees")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -60,16 +106,41 @@ public class EmployeeControllerTests {
                 .andExpect(jsonPath("$.email", is(employee.getEmail())));
     }
 
+    //JUnit Test for create employee retried with an Idempotency-Key
+    @Test
+    @DisplayName("Create Employee - Idempotency-Key replay")
+    public void givenIdempotencyKey_whenCreateEmployeeRetried_thenReturnOriginalResponseWithoutSavingAgain() throws Exception {
+        //give - precondition or setup
+        Employee employee = Employee.builder().firstName("sin").lastName("kang").email("emp@gmail.com").build();
+
+        //when - action or the behaviour that we are test
+        mockMvc.perform(post("/api/employees")
+                        .header("Idempotency-Key", "create-emp-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(employee)))
+                .andExpect(status().isCreated());
+        ResultActions response = mockMvc.perform(post("/api/employees")
+                .header("Idempotency-Key", "create-emp-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)));
+
+        //then - verify the output
+        response.andDo(MockMvcResultHandlers.print())
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.id", is(1)));
+        assertThat(employeeService.saveCount()).isEqualTo(1);
+    }
+
     //JUnit Test for get all employees REST API
     @Test
     @DisplayName("Get All Employee ")
     public void givenListOfEmployees_whenGetAllEmployees_thenReturnListOfEmployees() throws Exception {
         //give - precondition or setup
-        List<Employee> list = new ArrayList<>();
-        list.add(Employee.builder().firstName("sin1").lastName("kang1").email("s1@gmail.com").build());
-        list.add(Employee.builder().firstName("sin2").lastName("kang2").email("s2@gmail.com").build());
-
-        given(employeeService.getAllEmployees()).willReturn(list);
+        List<Employee> list = List.of(
+                Employee.builder().firstName("sin1").lastName("kang1").email("s1@gmail.com").build(),
+                Employee.builder().firstName("sin2").lastName("kang2").email("s2@gmail.com").build());
+        list.forEach(employeeService::saveEmployee);
 
         //when - action or the behaviour that we are test
         ResultActions response = mockMvc.perform(get("/api/employees"));
@@ -80,15 +151,36 @@ public class EmployeeControllerTests {
                 .andExpect(jsonPath("$.size()", is(list.size())));
     }
 
+    //JUnit Test for get all employees REST API in a binary format
+    @Test
+    @DisplayName("Get All Employee - CBOR")
+    public void givenCborAcceptHeader_whenGetAllEmployees_thenReturnCborList() throws Exception {
+        //give - precondition or setup
+        List<Employee> list = List.of(
+                Employee.builder().firstName("sin1").lastName("kang1").email("s1@gmail.com").build(),
+                Employee.builder().firstName("sin2").lastName("kang2").email("s2@gmail.com").build());
+        list.forEach(employeeService::saveEmployee);
+
+        //when - action or the behaviour that we are test
+        ResultActions response = mockMvc.perform(get("/api/employees").accept(MediaType.APPLICATION_CBOR));
+
+        //then - verify the output
+        byte[] body = response.andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        Employee[] employees = new ObjectMapper(new CBORFactory()).readValue(body, Employee[].class);
+        assertThat(employees).hasSize(list.size());
+        assertThat(employees[1].getEmail()).isEqualTo("s2@gmail.com");
+    }
+
     //JUnit Test for get employee by id REST API
     @Test
     @DisplayName("Get Employee by Id")
     public void givenEmployeeId_whenGetEmployeeById_thenReturnEmployeeObject() throws Exception {
         //give - precondition or setup
         long employeeId = 1L;
-        Employee employee = Employee.builder().firstName("sin").lastName("kang").email("emp@gmail.com").build();
-
-        given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.of(employee));
+        Employee employee = Employee.builder().id(employeeId).firstName("sin").lastName("kang").email("emp@gmail.com").build();
+        employeeService.saveEmployee(employee);
 
         //when - action or the behaviour that we are test
         ResultActions response = mockMvc.perform(get("/api/employees/{id}", employeeId));
@@ -108,8 +200,6 @@ public class EmployeeControllerTests {
         //give - precondition or setup
         long employeeId = 1L;
 
-        given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.empty());
-
         //when - action or the behaviour that we are test
         ResultActions response = mockMvc.perform(get("/api/employees/{id}", employeeId));
 
@@ -124,12 +214,9 @@ public class EmployeeControllerTests {
     public void givenUpdatedEmployeeObject_whenUpdateEmployee_thenReturnUpdatedEmployeeObject() throws Exception {
         //give - precondition or setup
         long employeeId = 1L;
-        Employee savedEmployee = Employee.builder().firstName("sin1").lastName("kang2").email("emp1@gmail.com").build();
+        Employee savedEmployee = Employee.builder().id(employeeId).firstName("sin1").lastName("kang2").email("emp1@gmail.com").build();
         Employee updatedEmployee = Employee.builder().firstName("sin2").lastName("kang2").email("emp2@gmail.com").build();
-
-        given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.of(savedEmployee));
-        given(employeeService.updateEmployee(any(Employee.class)))
-                .willAnswer((invocation) -> invocation.getArgument(0));
+        employeeService.saveEmployee(savedEmployee);
 
         //when - action or the behaviour that we are test
         ResultActions response = mockMvc.perform(put("/api/employees/{id}", employeeId)
@@ -153,9 +240,27 @@ public class EmployeeControllerTests {
         long employeeId = 1L;
         Employee updatedEmployee = Employee.builder().firstName("sin2").lastName("kang2").email("emp2@gmail.com").build();
 
-        given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.empty());
-        given(employeeService.updateEmployee(any(Employee.class)))
-                .willAnswer((invocation) -> invocation.getArgument(0));
+        //when - action or the behaviour that we are test
+        ResultActions response = mockMvc.perform(put("/api/employees/{id}", employeeId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updatedEmployee)));
+
+        //then - verify the output
+        response.andExpect(status().isNotFound())
+                .andDo(MockMvcResultHandlers.print());
+
+    }
+
+    //JUnit Test for Update employee deleted between the read and the write
+    @Test
+    @DisplayName("Update Employee - deleted concurrently")
+    public void givenEmployeeDeletedBeforeWrite_whenUpdateEmployee_thenReturnNotFound() throws Exception {
+        //give - precondition or setup
+        long employeeId = 1L;
+        Employee savedEmployee = Employee.builder().id(employeeId).firstName("sin1").lastName("kang2").email("emp1@gmail.com").build();
+        Employee updatedEmployee = Employee.builder().firstName("sin2").lastName("kang2").email("emp2@gmail.com").build();
+        employeeService.saveEmployee(savedEmployee);
+        employeeService.failNextUpdate(new ResourceNotFoundException("Employee not found with id: " + employeeId));
 
         //when - action or the behaviour that we are test
         ResultActions response = mockMvc.perform(put("/api/employees/{id}", employeeId)
@@ -165,7 +270,28 @@ public class EmployeeControllerTests {
         //then - verify the output
         response.andExpect(status().isNotFound())
                 .andDo(MockMvcResultHandlers.print());
+    }
 
+    //JUnit Test for async Update employee
+    @Test
+    @DisplayName("Update Employee - async")
+    public void givenRespondAsyncPreference_whenUpdateEmployee_thenReturnAccepted() throws Exception {
+        //give - precondition or setup
+        long employeeId = 1L;
+        Employee updatedEmployee = Employee.builder().firstName("sin2").lastName("kang2").email("emp2@gmail.com").build();
+
+        //when - action or the behaviour that we are test
+        ResultActions response = mockMvc.perform(put("/api/employees/{id}", employeeId)
+                .header("Prefer", "respond-async, wait=5")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updatedEmployee)));
+
+        //then - verify the output
+        response.andExpect(status().isAccepted())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(header().string("Location", "/api/employees/updates/token-1"))
+                .andExpect(jsonPath("$.token", is("token-1")))
+                .andExpect(jsonPath("$.status", is("QUEUED")));
     }
 
     //JUnit Test for delete employee
@@ -174,7 +300,7 @@ public class EmployeeControllerTests {
     public void givenEmployeeId_whenDeleteEmployee_thenReturn200() throws Exception {
         //give - precondition or setup
         long employeeId = 1L;
-        willDoNothing().given(employeeService).deleteEmployee(employeeId);
+        employeeService.saveEmployee(Employee.builder().id(employeeId).firstName("sin").lastName("kang").email("emp@gmail.com").build());
 
         //when - action or the behaviour that we are test
         ResultActions response = mockMvc.perform(delete("/api/employees/{id}", employeeId));
@@ -182,5 +308,23 @@ public class EmployeeControllerTests {
         //then - verify the output
         response.andExpect(status().isOk())
                 .andDo(MockMvcResultHandlers.print());
+        assertThat(employeeService.getEmployeeById(employeeId)).isEmpty();
+    }
+
+    //JUnit Test for email domain statistics
+    @Test
+    @DisplayName("Count employees by email domain")
+    public void givenEmailDomainCounts_whenGetEmailDomainStats_thenReturnCounts() throws Exception {
+        //give - precondition or setup
+        employeeStatsService.setEmailDomains(Map.of("gmail.com", 2L, "naver.com", 1L));
+
+        //when - action or the behaviour that we are test
+        ResultActions response = mockMvc.perform(get("/api/employees/stats/email-domains"));
+
+        //then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(jsonPath("$['gmail.com']", is(2)))
+                .andExpect(jsonPath("$['naver.com']", is(1)));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,109 @@
+package iam.sinny.springboottesting.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import iam.sinny.springboottesting.exception.ResourceNotFoundException;
+import iam.sinny.springboottesting.model.Employee;
+import iam.sinny.springboottesting.service.EmployeeService;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory {@link EmployeeService} for the web-layer tests. A hand-written stub rather than a Mockito mock, so the
+ * tests also run in a native image.
+ */
+class StubEmployeeService implements EmployeeService {
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<Long, Employee> employees = new ConcurrentSkipListMap<>();
+
+    private final AtomicLong ids = new AtomicLong();
+
+    private final AtomicInteger saves = new AtomicInteger();
+
+    private volatile RuntimeException nextUpdateFailure;
+
+    StubEmployeeService(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /** Makes the next {@link #updateEmployee(Employee)} throw {@code failure} instead of writing. */
+    void failNextUpdate(RuntimeException failure) {
+        nextUpdateFailure = failure;
+    }
+
+    int saveCount() {
+        return saves.get();
+    }
+
+    void reset() {
+        employees.clear();
+        ids.set(0);
+        saves.set(0);
+        nextUpdateFailure = null;
+    }
+
+    @Override
+    public Employee saveEmployee(Employee employee) {
+        saves.incrementAndGet();
+        if (employee.getId() == 0) {
+            employee.setId(ids.incrementAndGet());
+        }
+        employees.put(employee.getId(), employee);
+        return employee;
+    }
+
+    @Override
+    public List<Employee> getAllEmployees() {
+        return new ArrayList<>(employees.values());
+    }
+
+    @Override
+    public void writeAllEmployeesJson(OutputStream out) throws IOException {
+        objectMapper.writeValue(out, getAllEmployees());
+    }
+
+    @Override
+    public Optional<Employee> getEmployeeById(long id) {
+        return Optional.ofNullable(employees.get(id));
+    }
+
+    @Override
+    public Optional<byte[]> getEmployeeJsonById(long id) {
+        return getEmployeeById(id).map(employee -> {
+            try {
+                return objectMapper.writeValueAsBytes(employee);
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Override
+    public Employee updateEmployee(Employee employee) {
+        RuntimeException failure = nextUpdateFailure;
+        if (failure != null) {
+            nextUpdateFailure = null;
+            throw failure;
+        }
+        if (employees.replace(employee.getId(), employee) == null) {
+            throw new ResourceNotFoundException("Employee not found with id: " + employee.getId());
+        }
+        return employee;
+    }
+
+    @Override
+    public void deleteEmployee(long id) {
+        employees.remove(id);
+    }
+}
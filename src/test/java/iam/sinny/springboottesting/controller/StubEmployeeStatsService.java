@@ -0,0 +1,36 @@
+package iam.sinny.springboottesting.controller;
+
+import iam.sinny.springboottesting.service.EmployeeStatsService;
+
+import java.util.Map;
+
+/**
+ * {@link EmployeeStatsService} answering with the email-domain counts the test set and nothing else.
+ */
+class StubEmployeeStatsService implements EmployeeStatsService {
+
+    private volatile Map<String, Long> emailDomains = Map.of();
+
+    void setEmailDomains(Map<String, Long> emailDomains) {
+        this.emailDomains = emailDomains;
+    }
+
+    void reset() {
+        emailDomains = Map.of();
+    }
+
+    @Override
+    public long countEmployees() {
+        return emailDomains.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    @Override
+    public Map<String, Long> countByLastNameInitial() {
+        return Map.of();
+    }
+
+    @Override
+    public Map<String, Long> countByEmailDomain() {
+        return emailDomains;
+    }
+}
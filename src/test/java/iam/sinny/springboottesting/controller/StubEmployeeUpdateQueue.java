@@ -0,0 +1,43 @@
+package iam.sinny.springboottesting.controller;
+
+import iam.sinny.springboottesting.model.Employee;
+import iam.sinny.springboottesting.model.EmployeeUpdateStatus;
+import iam.sinny.springboottesting.model.EmployeeUpdateTicket;
+import iam.sinny.springboottesting.service.EmployeeUpdateQueue;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link EmployeeUpdateQueue} that only hands out {@code QUEUED} tickets numbered {@code token-1}, {@code token-2}, ...
+ */
+class StubEmployeeUpdateQueue implements EmployeeUpdateQueue {
+
+    private final Map<String, EmployeeUpdateTicket> tickets = new ConcurrentHashMap<>();
+
+    private final AtomicLong tokens = new AtomicLong();
+
+    void reset() {
+        tickets.clear();
+        tokens.set(0);
+    }
+
+    @Override
+    public EmployeeUpdateTicket submit(long employeeId, Employee employee) {
+        EmployeeUpdateTicket ticket = new EmployeeUpdateTicket("token-" + tokens.incrementAndGet(), employeeId,
+                EmployeeUpdateStatus.QUEUED);
+        tickets.put(ticket.getToken(), ticket);
+        return ticket;
+    }
+
+    @Override
+    public Optional<EmployeeUpdateTicket> getTicket(String token) {
+        return Optional.ofNullable(tickets.get(token));
+    }
+
+    @Override
+    public void flush() {
+    }
+}
@@ -0,0 +1,133 @@
+package iam.sinny.springboottesting.directory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import iam.sinny.springboottesting.model.Employee;
+import iam.sinny.springboottesting.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+@DisabledInNativeImage
+public class EmployeeDirectoryTests {
+
+    static final Instant NOW = Instant.parse("2026-10-19T00:00:00Z");
+
+    @Mock
+    EmployeeRepository employeeRepository;
+
+    @Mock
+    Clock clock;
+
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    EmployeeDirectory employeeDirectory;
+
+    Employee employee1;
+
+    Employee employee2;
+
+    Employee employee3;
+
+    @BeforeEach
+    public void setup() {
+        employeeDirectory = new EmployeeDirectory(employeeRepository, objectMapper, Duration.ofMinutes(5), 2, clock);
+        employee1 = Employee.builder().id(1L).firstName("sin1").lastName("kang1").email("s1@gmail.com").build();
+        employee2 = Employee.builder().id(2L).firstName("sin2").lastName("kang2").email("s2@gmail.com").build();
+        employee3 = Employee.builder().id(3L).firstName("sin3").lastName("kang3").email("s3@gmail.com").build();
+        given(clock.instant()).willReturn(NOW);
+    }
+
+    //JUnit Test for loading the snapshot in keyset pages
+    @Test
+    @DisplayName("Reload loads all pages and serves the snapshot")
+    public void givenTwoPages_whenReload_thenAllEmployeesAreServed() throws IOException {
+        //give - precondition or setup
+        given(employeeRepository.count()).willReturn(3L);
+        given(employeeRepository.findPageAfterId(eq(0L), any(PageRequest.class))).willReturn(List.of(employee1, employee2));
+        given(employeeRepository.findPageAfterId(eq(2L), any(PageRequest.class))).willReturn(List.of(employee3));
+
+        //when - action or the behaviour that we are test
+        employeeDirectory.reload();
+
+        //then - verify the output
+        assertThat(employeeDirectory.isServing()).isTrue();
+        assertThat(employeeDirectory.findJsonById(3L)).contains(objectMapper.writeValueAsBytes(employee3));
+        assertThat(readJsonArray()).extracting(Employee::getEmail)
+                .containsExactly("s1@gmail.com", "s2@gmail.com", "s3@gmail.com");
+        assertThat(employeeDirectory.findAll()).hasSize(3);
+    }
+
+    //JUnit Test for the staleness bound
+    @Test
+    @DisplayName("Stop serving once the snapshot is older than the staleness bound")
+    public void givenFailingReloads_whenMaxStalenessPassed_thenNotServing() throws IOException {
+        //give - precondition or setup
+        given(employeeRepository.count()).willReturn(1L);
+        given(employeeRepository.findPageAfterId(eq(0L), any(PageRequest.class))).willReturn(List.of(employee1));
+        employeeDirectory.reload();
+        given(employeeRepository.count()).willThrow(new DataAccessResourceFailureException("database is down"));
+
+        //when - action or the behaviour that we are test
+        employeeDirectory.reload();
+
+        //then - verify the output
+        assertThat(employeeDirectory.isServing()).isTrue();
+        assertThat(readJsonArray()).extracting(Employee::getId).containsExactly(1L);
+        given(clock.instant()).willReturn(NOW.plus(Duration.ofMinutes(6)));
+        assertThat(employeeDirectory.isServing()).isFalse();
+    }
+
+    //JUnit Test for writes made while a reload is reading the database
+    @Test
+    @DisplayName("Replay writes made during a reload onto the new snapshot")
+    public void givenWritesDuringReload_whenReload_thenWritesAreNotLost() throws IOException {
+        //give - precondition or setup
+        given(employeeRepository.count()).willReturn(2L);
+        given(employeeRepository.findPageAfterId(eq(0L), any(PageRequest.class))).willAnswer(invocation -> {
+            // concurrent writes of this node; the page below was read before them
+            Employee updated = Employee.builder().id(1L).firstName("sinny").lastName("kang1").email("new@gmail.com").build();
+            employeeDirectory.put(updated);
+            employeeDirectory.remove(2L);
+            employeeDirectory.put(employee3);
+            return List.of(employee1, employee2);
+        });
+        given(employeeRepository.findPageAfterId(eq(2L), any(PageRequest.class))).willReturn(List.of());
+
+        //when - action or the behaviour that we are test
+        employeeDirectory.reload();
+
+        //then - verify the output
+        assertThat(readJsonArray()).extracting(Employee::getEmail)
+                .containsExactly("new@gmail.com", "s3@gmail.com");
+        assertThat(employeeDirectory.findJsonById(2L)).isEmpty();
+
+        // writes after the reload go straight to the published snapshot
+        employeeDirectory.remove(3L);
+        assertThat(readJsonArray()).extracting(Employee::getId).containsExactly(1L);
+    }
+
+    private List<Employee> readJsonArray() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        employeeDirectory.writeJsonArray(out);
+        return List.of(objectMapper.readValue(out.toByteArray(), Employee[].class));
+    }
+}
@@ -0,0 +1,117 @@
+package iam.sinny.springboottesting.directory;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OffHeapEmployeeIndexTests {
+
+    OffHeapEmployeeIndex index;
+
+    @BeforeEach
+    public void setup() {
+        index = new OffHeapEmployeeIndex(4, 64);
+    }
+
+    //JUnit Test for put and get
+    @Test
+    @DisplayName("Get record by id")
+    public void givenPutRecord_whenGet_thenReturnRecord() {
+        //give - precondition or setup
+        index.put(1L, bytes("{\"id\":1}"));
+        index.put(2L, bytes("{\"id\":2}"));
+
+        //when - action or the behaviour that we are test
+        byte[] record = index.get(2L);
+
+        //then - verify the output
+        assertThat(record).isEqualTo(bytes("{\"id\":2}"));
+        assertThat(index.get(3L)).isNull();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    //JUnit Test for overwrite and remove
+    @Test
+    @DisplayName("Overwrite and remove records")
+    public void givenExistingRecord_whenOverwriteAndRemove_thenLatestStateIsReturned() {
+        //give - precondition or setup
+        index.put(1L, bytes("old"));
+        index.put(2L, bytes("two"));
+
+        //when - action or the behaviour that we are test
+        index.put(1L, bytes("new"));
+        boolean removed = index.remove(2L);
+
+        //then - verify the output
+        assertThat(removed).isTrue();
+        assertThat(index.get(1L)).isEqualTo(bytes("new"));
+        assertThat(index.get(2L)).isNull();
+        assertThat(index.ids()).containsExactly(1L);
+        assertThat(index.remove(2L)).isFalse();
+    }
+
+    //JUnit Test for growth beyond the initial table and buffer
+    @Test
+    @DisplayName("Grow and compact past initial capacity")
+    public void givenManyRecords_whenPut_thenAllRecordsAreReadable() {
+        //when - action or the behaviour that we are test
+        for (long id = 1; id <= 10_000; id++) {
+            index.put(id, bytes("employee-" + id));
+        }
+        for (long id = 1; id <= 10_000; id += 2) {
+            index.remove(id);
+        }
+        for (long id = 2; id <= 10_000; id += 2) {
+            index.put(id, bytes("updated-" + id));
+        }
+
+        //then - verify the output
+        assertThat(index.size()).isEqualTo(5_000);
+        assertThat(index.get(9_999L)).isNull();
+        assertThat(index.get(10_000L)).isEqualTo(bytes("updated-10000"));
+        assertThat(index.ids()).hasSize(5_000).startsWith(2L, 4L).isSorted();
+    }
+
+    //JUnit Test for the buffer size past 1 GiB
+    @Test
+    @DisplayName("Buffer capacity does not overflow past 1 GiB")
+    public void givenMoreThanOneGibRequired_whenDataCapacityFor_thenCapAtIntMaxOrFail() {
+        //when - action or the behaviour that we are test
+        int doubled = OffHeapEmployeeIndex.dataCapacityFor(1_000, 1024);
+        int capped = OffHeapEmployeeIndex.dataCapacityFor((1L << 30) + 1, 1024);
+
+        //then - verify the output
+        assertThat(doubled).isEqualTo(2_000);
+        assertThat(capped).isEqualTo(Integer.MAX_VALUE);
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> OffHeapEmployeeIndex.dataCapacityFor(Integer.MAX_VALUE + 1L, 1024));
+    }
+
+    //JUnit Test for the hash table size
+    @Test
+    @DisplayName("Table holds entries at a load factor of at most 0.5 without overflowing")
+    public void givenEntryCount_whenTableSizeFor_thenSmallestPowerOfTwoAtHalfLoad() {
+        //when - action or the behaviour that we are test
+        int small = OffHeapEmployeeIndex.tableSizeFor(5);
+        int exact = OffHeapEmployeeIndex.tableSizeFor(1 << 20);
+        int tenMillion = OffHeapEmployeeIndex.tableSizeFor(10_000_000);
+        int largest = OffHeapEmployeeIndex.tableSizeFor(OffHeapEmployeeIndex.MAX_ENTRIES);
+
+        //then - verify the output
+        assertThat(small).isEqualTo(16);
+        assertThat(exact).isEqualTo(1 << 21);
+        assertThat(tenMillion).isEqualTo(1 << 25);
+        assertThat(largest).isEqualTo(1 << 30);
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> OffHeapEmployeeIndex.tableSizeFor(OffHeapEmployeeIndex.MAX_ENTRIES + 1));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
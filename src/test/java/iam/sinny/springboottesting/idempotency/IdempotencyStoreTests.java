@@ -0,0 +1,161 @@
+package iam.sinny.springboottesting.idempotency;
+
+import iam.sinny.springboottesting.exception.IdempotencyKeyReusedException;
+import iam.sinny.springboottesting.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IdempotencyStoreTests {
+
+    IdempotencyStore idempotencyStore;
+
+    AtomicInteger executions;
+
+    @BeforeEach
+    public void setup() {
+        idempotencyStore = new IdempotencyStore(Duration.ofMinutes(1), 100, Duration.ofSeconds(5));
+        executions = new AtomicInteger();
+    }
+
+    //JUnit Test for replay
+    @Test
+    @DisplayName("Replay the stored result for a repeated key")
+    public void givenCompletedRequest_whenSameKeyAgain_thenReturnStoredResultWithoutExecuting() {
+        //give - precondition or setup
+        idempotencyStore.execute("key-1", "request-a", () -> "created-" + executions.incrementAndGet());
+
+        //when - action or the behaviour that we are test
+        IdempotencyStore.Result<String> result = idempotencyStore.execute("key-1", "request-a",
+                () -> "created-" + executions.incrementAndGet());
+
+        //then - verify the output
+        assertThat(result.value()).isEqualTo("created-1");
+        assertThat(result.replayed()).isTrue();
+        assertThat(executions).hasValue(1);
+    }
+
+    //JUnit Test for concurrent requests with the same key
+    @Test
+    @DisplayName("Concurrent request waits for the first one")
+    public void givenRequestInProgress_whenSameKeyConcurrently_thenWaitForFirstResult() throws Exception {
+        //give - precondition or setup
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<IdempotencyStore.Result<String>> first = CompletableFuture.supplyAsync(() ->
+                idempotencyStore.execute("key-1", "request-a", () -> {
+                    started.countDown();
+                    await(release);
+                    return "created-" + executions.incrementAndGet();
+                }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        //when - action or the behaviour that we are test
+        FutureTask<IdempotencyStore.Result<String>> second = new FutureTask<>(() ->
+                idempotencyStore.execute("key-1", "request-a", () -> "created-" + executions.incrementAndGet()));
+        Thread secondThread = new Thread(second);
+        secondThread.start();
+        assertThat(awaitBlocked(secondThread)).isTrue();
+        release.countDown();
+
+        //then - verify the output
+        assertThat(first.get(5, TimeUnit.SECONDS).value()).isEqualTo("created-1");
+        assertThat(second.get(5, TimeUnit.SECONDS).value()).isEqualTo("created-1");
+        assertThat(second.get().replayed()).isTrue();
+        assertThat(executions).hasValue(1);
+    }
+
+    //JUnit Test for a failed request
+    @Test
+    @DisplayName("Retry runs again after a failure")
+    public void givenFailedRequest_whenSameKeyAgain_thenExecuteAgain() {
+        //give - precondition or setup
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> idempotencyStore.execute("key-1", "request-a", () -> {
+            throw new ResourceNotFoundException("Employee already exists");
+        }));
+
+        //when - action or the behaviour that we are test
+        IdempotencyStore.Result<String> result = idempotencyStore.execute("key-1", "request-a", () -> "created");
+
+        //then - verify the output
+        assertThat(result.value()).isEqualTo("created");
+        assertThat(result.replayed()).isFalse();
+    }
+
+    //JUnit Test for a request failing with an error
+    @Test
+    @DisplayName("Release waiting requests and forget the key when the action throws an error")
+    public void givenActionThrowingError_whenSameKeyConcurrently_thenWaiterFailsAndRetryRuns() throws Exception {
+        //give - precondition or setup
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<IdempotencyStore.Result<String>> first = CompletableFuture.supplyAsync(() ->
+                idempotencyStore.execute("key-1", "request-a", () -> {
+                    started.countDown();
+                    await(release);
+                    throw new AssertionError("simulated error");
+                }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        FutureTask<IdempotencyStore.Result<String>> second = new FutureTask<>(() ->
+                idempotencyStore.execute("key-1", "request-a", () -> "created"));
+        Thread secondThread = new Thread(second);
+        secondThread.start();
+        assertThat(awaitBlocked(secondThread)).isTrue();
+
+        //when - action or the behaviour that we are test
+        release.countDown();
+
+        //then - verify the output
+        ExecutionException firstFailure = Assertions.assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        assertThat(firstFailure).hasCauseInstanceOf(AssertionError.class);
+        ExecutionException secondFailure = Assertions.assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertThat(secondFailure).hasRootCauseInstanceOf(AssertionError.class);
+        assertThat(idempotencyStore.execute("key-1", "request-a", () -> "created").replayed()).isFalse();
+    }
+
+    //JUnit Test for a key reused for another request
+    @Test
+    @DisplayName("Reject a key reused for a different request")
+    public void givenUsedKey_whenDifferentRequest_thenThrowsException() {
+        //give - precondition or setup
+        idempotencyStore.execute("key-1", "request-a", () -> "created");
+
+        //when - action or the behaviour that we are test
+        Assertions.assertThrows(IdempotencyKeyReusedException.class,
+                () -> idempotencyStore.execute("key-1", "request-b", () -> "other"));
+    }
+
+    /**
+     * Waits until the thread parks, i.e. is blocked waiting for the request in progress.
+     */
+    private static boolean awaitBlocked(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            Thread.State state = thread.getState();
+            if (state == Thread.State.WAITING || state == Thread.State.TIMED_WAITING) {
+                return true;
+            }
+            Thread.sleep(1);
+        }
+        return false;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package iam.sinny.springboottesting.integration;
+
+import iam.sinny.springboottesting.repository.EmployeeRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Asserts via EXPLAIN on the migrated MySQL schema that the EmployeeRepository queries use an index. The explained
+ * statements are the ones Hibernate sends for the repository methods (including the {@code deleted_at is null}
+ * restriction), captured with a {@link StatementInspector}. findAll is a full scan by design and is not covered.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "iam.sinny.springboottesting.integration.EmployeeQueryIndexITests$CapturingStatementInspector")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class EmployeeQueryIndexITests extends AbstractContainerBaseTest {
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        static final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate.update("delete from employees");
+        jdbcTemplate.batchUpdate("insert into employees (first_name, last_name, email, deleted_at) values (?, ?, ?, ?)",
+                IntStream.range(0, 1_000)
+                        .mapToObj(i -> new Object[]{"first" + i, "last" + i, "employee" + i + "@gmail.com",
+                                i % 100 == 0 ? Timestamp.from(Instant.now()) : null})
+                        .toList());
+        jdbcTemplate.execute("analyze table employees");
+        CapturingStatementInspector.statements.clear();
+    }
+
+    @Test
+    @DisplayName("findById uses the primary key")
+    public void givenId_whenExplainFindById_thenUsesPrimaryKey() {
+        //give - precondition or setup
+        long id = jdbcTemplate.queryForObject("select id from employees where email = 'employee500@gmail.com'", Long.class);
+        employeeRepository.findById(id);
+
+        //when - action or the behaviour that we are test
+        String key = explain(capturedStatement(), id);
+
+        //then - verify the output
+        assertThat(key).isEqualTo("PRIMARY");
+    }
+
+    @Test
+    @DisplayName("findEmployeeByEmail uses the unique email index")
+    public void givenEmail_whenExplainFindEmployeeByEmail_thenUsesEmailIndex() {
+        //give - precondition or setup
+        employeeRepository.findEmployeeByEmail("employee500@gmail.com");
+
+        //when - action or the behaviour that we are test
+        String key = explain(capturedStatement(), "employee500@gmail.com");
+
+        //then - verify the output
+        assertThat(key).isEqualTo("uk_employees_email");
+    }
+
+    @Test
+    @DisplayName("countByEmailIncludingDeleted uses the unique email index")
+    public void givenEmail_whenExplainCountByEmailIncludingDeleted_thenUsesEmailIndex() {
+        //give - precondition or setup
+        employeeRepository.countByEmailIncludingDeleted("employee500@gmail.com");
+
+        //when - action or the behaviour that we are test
+        String key = explain(capturedStatement(), "employee500@gmail.com");
+
+        //then - verify the output
+        assertThat(key).isEqualTo("uk_employees_email");
+    }
+
+    @Test
+    @DisplayName("JPQL name queries use the (last_name, first_name) index")
+    public void givenNames_whenExplainFindByJPQL_thenUsesNameIndex() {
+        //give - precondition or setup
+        employeeRepository.findByJPQL("first500", "last500");
+
+        //when - action or the behaviour that we are test
+        String key = explain(capturedStatement(), "first500", "last500");
+
+        //then - verify the output
+        assertThat(key).isEqualTo("idx_employees_last_name_first_name");
+    }
+
+    @Test
+    @DisplayName("native name queries use the (last_name, first_name) index")
+    public void givenNames_whenExplainFindBynativeSQL_thenUsesNameIndex() {
+        //give - precondition or setup
+        employeeRepository.findBynativeSQL("first500", "last500");
+
+        //when - action or the behaviour that we are test
+        String key = explain(capturedStatement(), "first500", "last500");
+
+        //then - verify the output
+        assertThat(key).isEqualTo("idx_employees_last_name_first_name");
+    }
+
+    @Test
+    @DisplayName("findSoftDeletedIds uses the deleted_at index")
+    public void givenCutoff_whenExplainFindSoftDeletedIds_thenUsesDeletedAtIndex() {
+        //give - precondition or setup
+        Timestamp cutoff = Timestamp.from(Instant.now().plusSeconds(60));
+        employeeRepository.findSoftDeletedIds(cutoff.toInstant(), 500);
+
+        //when - action or the behaviour that we are test
+        String key = explain(capturedStatement(), cutoff, 500);
+
+        //then - verify the output
+        assertThat(key).isEqualTo("idx_employees_deleted_at");
+    }
+
+    private static String capturedStatement() {
+        List<String> statements = CapturingStatementInspector.statements;
+        assertThat(statements).hasSize(1);
+        return statements.get(0);
+    }
+
+    private String explain(String sql, Object... args) {
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("explain " + sql, args);
+        assertThat(plan).hasSize(1);
+        return (String) plan.get(0).get("key");
+    }
+}
@@ -0,0 +1,175 @@
+package iam.sinny.springboottesting.integration;
+
+import iam.sinny.springboottesting.model.Employee;
+import iam.sinny.springboottesting.repository.ReactiveEmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Same behaviour as {@link EmployeeControllerITests}, run against the reactive stack on an embedded R2DBC database
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.r2dbc.url=r2dbc:h2:mem:///reactive-tests;DB_CLOSE_DELAY=-1")
+@AutoConfigureWebTestClient
+@ActiveProfiles("reactive")
+public class ReactiveEmployeeControllerITests {
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Autowired
+    ReactiveEmployeeRepository employeeRepository;
+
+    @BeforeEach
+    void setup(){
+        employeeRepository.deleteAll().block();
+    }
+
+    @Test
+    @DisplayName("Create Employee Integration Test")
+    public void givenEmployeeObject_whenCreateEmployee_thenReturnSavedEmployee() {
+        //give - precondition or setup
+        Employee employee = Employee.builder().firstName("sin").lastName("kang").email("emp@gmail.com").build();
+
+        //when - action or the behaviour that we are test
+        WebTestClient.ResponseSpec response = webTestClient.post().uri("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(employee)
+                .exchange();
+
+        //then - verify the output
+        response.expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.firstName").isEqualTo(employee.getFirstName())
+                .jsonPath("$.lastName").isEqualTo(employee.getLastName())
+                .jsonPath("$.email").isEqualTo(employee.getEmail());
+    }
+
+    //JUnit Test for get all employees REST API
+    @Test
+    @DisplayName("Get All Employee integration test")
+    public void givenListOfEmployees_whenGetAllEmployees_thenReturnListOfEmployees() {
+        //give - precondition or setup
+        List<Employee> list = new ArrayList<>();
+        list.add(Employee.builder().firstName("sin1").lastName("kang1").email("s1@gmail.com").build());
+        list.add(Employee.builder().firstName("sin2").lastName("kang2").email("s2@gmail.com").build());
+
+        employeeRepository.saveAll(list).blockLast();
+
+        //when - action or the behaviour that we are test
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange();
+
+        //then - verify the output
+        response.expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.size()").isEqualTo(list.size());
+    }
+
+    //JUnit Test for get employee by id REST API
+    @Test
+    @DisplayName("Get Employee by Id integration test")
+    public void givenEmployeeId_whenGetEmployeeById_thenReturnEmployeeObject() {
+        //give - precondition or setup
+        Employee employee = employeeRepository.save(
+                Employee.builder().firstName("sin").lastName("kang").email("emp@gmail.com").build()).block();
+
+        //when - action or the behaviour that we are test
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees/{id}", employee.getId())
+                .exchange();
+
+        //then - verify the output
+        response.expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.firstName").isEqualTo(employee.getFirstName())
+                .jsonPath("$.lastName").isEqualTo(employee.getLastName())
+                .jsonPath("$.email").isEqualTo(employee.getEmail());
+    }
+
+    //JUnit Test for get employee by id REST API
+    @Test
+    @DisplayName("Get Employee by Id - negative integration test")
+    public void givenInvalidEmployeeId_whenGetEmployeeById_thenReturnEmpty() {
+        //give - precondition or setup
+        Employee employee = employeeRepository.save(
+                Employee.builder().firstName("sin").lastName("kang").email("emp@gmail.com").build()).block();
+
+        //when - action or the behaviour that we are test
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees/{id}", employee.getId() + 1)
+                .exchange();
+
+        //then - verify the output
+        response.expectStatus().isNotFound();
+    }
+
+    //JUnit Test for Update employee
+    @Test
+    @DisplayName("Update Employee - integration test")
+    public void givenUpdatedEmployeeObject_whenUpdateEmployee_thenReturnUpdatedEmployeeObject() {
+        //give - precondition or setup
+        Employee savedEmployee = employeeRepository.save(
+                Employee.builder().firstName("sin1").lastName("kang2").email("emp1@gmail.com").build()).block();
+
+        Employee updatedEmployee = Employee.builder().firstName("sin2").lastName("kang2").email("emp2@gmail.com").build();
+
+        //when - action or the behaviour that we are test
+        WebTestClient.ResponseSpec response = webTestClient.put().uri("/api/employees/{id}", savedEmployee.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(updatedEmployee)
+                .exchange();
+
+        //then - verify the output
+        response.expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.firstName").isEqualTo(updatedEmployee.getFirstName())
+                .jsonPath("$.lastName").isEqualTo(updatedEmployee.getLastName())
+                .jsonPath("$.email").isEqualTo(updatedEmployee.getEmail());
+    }
+
+    //JUnit Test for Update employee
+    @Test
+    @DisplayName("Update Employee - negative integration test")
+    public void givenUpdatedEmployeeObject_whenUpdateEmployee_thenReturnEmptyObject() {
+        //give - precondition or setup
+        Employee savedEmployee = employeeRepository.save(
+                Employee.builder().firstName("sin1").lastName("kang2").email("emp1@gmail.com").build()).block();
+
+        Employee updatedEmployee = Employee.builder().firstName("sin2").lastName("kang2").email("emp2@gmail.com").build();
+
+        //when - action or the behaviour that we are test
+        WebTestClient.ResponseSpec response = webTestClient.put().uri("/api/employees/{id}", savedEmployee.getId() + 1)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(updatedEmployee)
+                .exchange();
+
+        //then - verify the output
+        response.expectStatus().isNotFound();
+    }
+
+    //JUnit Test for delete employee
+    @Test
+    @DisplayName("Delete Employee")
+    public void givenEmployeeId_whenDeleteEmployee_thenReturn200() {
+        //give - precondition or setup
+        Employee employee = employeeRepository.save(
+                Employee.builder().firstName("sin1").lastName("kang2").email("emp1@gmail.com").build()).block();
+
+        //when - action or the behaviour that we are test
+        WebTestClient.ResponseSpec response = webTestClient.delete().uri("/api/employees/{id}", employee.getId())
+                .exchange();
+
+        //then - verify the output
+        response.expectStatus().isOk();
+    }
+}
@@ -0,0 +1,77 @@
+package iam.sinny.springboottesting.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import iam.sinny.springboottesting.model.Employee;
+import iam.sinny.springboottesting.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration Test for request tracing: every request sampled, spans read back from the slowest-traces endpoint
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "employees.tracing.sample-rate=1")
+@AutoConfigureMockMvc
+public class TracingIntegrationTests extends AbstractContainerBaseTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setup() {
+        employeeRepository.deleteAll();
+    }
+
+    //JUnit Test for the spans of a sampled request
+    @Test
+    @DisplayName("Trace controller, request body, service, repository and connection spans of a create")
+    public void givenSampledCreateEmployee_whenGetSlowestTraces_thenTraceHasAllSpans() throws Exception {
+        //give - precondition or setup
+        Employee employee = Employee.builder().firstName("sin").lastName("kang").email("trace@gmail.com").build();
+        mockMvc.perform(post("/api/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(employee)))
+                .andExpect(status().isCreated());
+
+        //when - action or the behaviour that we are test
+        ResultActions response = mockMvc.perform(get("/internal/traces/slowest").param("limit", "20"));
+
+        //then - verify the output
+        response.andDo(MockMvcResultHandlers.print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].method", is("POST")))
+                .andExpect(jsonPath("$[0].path", is("/api/employees")))
+                .andExpect(jsonPath("$[0].status", is(201)))
+                .andExpect(jsonPath("$[0].spans[*].name", hasItems(
+                        "controller.createEmployee", "request-body.read", "jdbc.getConnection")))
+                .andExpect(jsonPath("$[0].spans[*].name", hasItem(allOf(startsWith("service."), endsWith(".saveEmployee")))))
+                .andExpect(jsonPath("$[0].spans[*].name", hasItem(startsWith("repository."))));
+    }
+}
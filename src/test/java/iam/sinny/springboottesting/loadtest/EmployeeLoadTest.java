@@ -0,0 +1,146 @@
+package iam.sinny.springboottesting.loadtest;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ActiveProfilesResolver;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Seeds the employees table, drives a mixed workload against the running application and fails when latency or
+ * throughput miss the SLOs or regress against a baseline. Only runs with {@code -Ploadtest}.
+ * Results are written to {@code target/loadtest-result.properties}; copy that file to the baseline location
+ * to compare later runs of the same stack against it.
+ * <p>
+ * With {@code -Dloadtest.stack=reactive} the application runs with the "reactive" profile on {@code spring.r2dbc.*}.
+ * The schema is then migrated with Flyway before startup, so both stacks are measured on the same tables and indexes.
+ */
+@Tag("load")
+@ActiveProfiles(resolver = EmployeeLoadTest.StackProfiles.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "employees.rate-limit.enabled=false",
+        "spring.jpa.show-sql=false",
+        "spring.datasource.hikari.maximum-pool-size=20"})
+public class EmployeeLoadTest {
+
+    static final LoadTestSettings SETTINGS = LoadTestSettings.fromSystemProperties();
+
+    /** Seeds over plain JDBC whichever stack runs, since the reactive profile has no DataSource bean. */
+    static JdbcTemplate seedJdbcTemplate;
+
+    @LocalServerPort
+    int port;
+
+    public static class StackProfiles implements ActiveProfilesResolver {
+
+        @Override
+        public String[] resolve(Class<?> testClass) {
+            return isReactive() ? new String[]{"reactive"} : new String[0];
+        }
+    }
+
+    @DynamicPropertySource
+    static void dataSource(DynamicPropertyRegistry registry) {
+        DriverManagerDataSource seedDataSource;
+        String r2dbcUrl;
+        if ("mysql".equals(SETTINGS.database())) {
+            MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0.36")
+                    .withDatabaseName("loadtest-db")
+                    .withUsername("sa")
+                    .withPassword("sa")
+                    .withUrlParam("rewriteBatchedStatements", "true");
+            mysql.start();
+            seedDataSource = new DriverManagerDataSource(mysql.getJdbcUrl(), mysql.getUsername(), mysql.getPassword());
+            r2dbcUrl = "r2dbc:mysql://" + mysql.getHost() + ":" + mysql.getMappedPort(MySQLContainer.MYSQL_PORT)
+                    + "/" + mysql.getDatabaseName() + "?sslMode=DISABLED";
+        } else {
+            seedDataSource = new DriverManagerDataSource("jdbc:h2:mem:loadtest;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+            r2dbcUrl = "r2dbc:h2:mem:///loadtest;MODE=MySQL;DB_CLOSE_DELAY=-1";
+        }
+        seedJdbcTemplate = new JdbcTemplate(seedDataSource);
+
+        if (isReactive()) {
+            Flyway.configure().dataSource(seedDataSource).locations("classpath:db/migration").load().migrate();
+            registry.add("spring.r2dbc.url", () -> r2dbcUrl);
+            registry.add("spring.r2dbc.username", seedDataSource::getUsername);
+            registry.add("spring.r2dbc.password", seedDataSource::getPassword);
+        } else {
+            registry.add("spring.datasource.url", seedDataSource::getUrl);
+            registry.add("spring.datasource.driver-class-name", () -> "mysql".equals(SETTINGS.database())
+                    ? "com.mysql.cj.jdbc.Driver"
+                    : "org.h2.Driver");
+            registry.add("spring.datasource.username", seedDataSource::getUsername);
+            registry.add("spring.datasource.password", seedDataSource::getPassword);
+        }
+    }
+
+    @Test
+    @DisplayName("Mixed workload meets latency and throughput SLOs")
+    public void givenSeededEmployees_whenMixedWorkload_thenLatencyAndThroughputMeetSlo() throws Exception {
+        //give - precondition or setup
+        long maxId = new EmployeeSeeder(seedJdbcTemplate).seed(SETTINGS.rows());
+
+        //when - action or the behaviour that we are test
+        WorkloadDriver.Result result = new WorkloadDriver(SETTINGS).run(URI.create("http://localhost:" + port), maxId);
+        result.print(System.out);
+        writeResult(result, Path.of("target", "loadtest-result.properties"));
+
+        //then - verify the output
+        assertThat(result.errorRate()).as("error rate").isLessThanOrEqualTo(SETTINGS.maxErrorRate());
+        assertThat(result.percentileMillis(99)).as("p99 latency (ms)").isLessThanOrEqualTo(SETTINGS.maxP99Millis());
+        assertThat(result.throughput()).as("throughput (ops/s)").isGreaterThanOrEqualTo(SETTINGS.minThroughput());
+
+        Path baseline = Path.of(SETTINGS.baselineFile());
+        if (Files.exists(baseline)) {
+            Properties previous = new Properties();
+            try (Reader reader = Files.newBufferedReader(baseline)) {
+                previous.load(reader);
+            }
+            assertThat(previous.getProperty("stack", "blocking")).as("stack of the baseline").isEqualTo(SETTINGS.stack());
+            double baselineP99 = Double.parseDouble(previous.getProperty("p99.ms"));
+            double baselineThroughput = Double.parseDouble(previous.getProperty("throughput"));
+
+            assertThat(result.percentileMillis(99)).as("p99 latency (ms) against baseline")
+                    .isLessThanOrEqualTo(baselineP99 * (1 + SETTINGS.tolerance()));
+            assertThat(result.throughput()).as("throughput (ops/s) against baseline")
+                    .isGreaterThanOrEqualTo(baselineThroughput * (1 - SETTINGS.tolerance()));
+        }
+    }
+
+    private static boolean isReactive() {
+        return "reactive".equals(SETTINGS.stack());
+    }
+
+    private void writeResult(WorkloadDriver.Result result, Path file) throws IOException {
+        Properties properties = new Properties();
+        properties.putAll(result.summary());
+        properties.setProperty("stack", SETTINGS.stack());
+        properties.setProperty("database", SETTINGS.database());
+        properties.setProperty("rows", String.valueOf(SETTINGS.rows()));
+        properties.setProperty("clients", String.valueOf(SETTINGS.clients()));
+        properties.setProperty("mix", SETTINGS.mix().toString());
+
+        Files.createDirectories(file.getParent());
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            properties.store(writer, "EmployeeLoadTest result");
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package iam.sinny.springboottesting.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fills the employees table with generated rows in JDBC batches, skipping the work when it already holds enough.
+ */
+public class EmployeeSeeder {
+
+    private static final int BATCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EmployeeSeeder(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @return the highest employee id after seeding
+     */
+    public long seed(long rows) {
+        Long existing = jdbcTemplate.queryForObject("select count(*) from employees", Long.class);
+        for (long next = existing == null ? 0 : existing; next < rows; next += BATCH_SIZE) {
+            List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+            for (long i = next; i < Math.min(rows, next + BATCH_SIZE); i++) {
+                batch.add(new Object[]{"first" + i, "last" + (i % 50_000), "seed" + i + "@loadtest.local"});
+            }
+            jdbcTemplate.batchUpdate("insert into employees (first_name, last_name, email) values (?, ?, ?)", batch);
+        }
+        Long maxId = jdbcTemplate.queryForObject("select max(id) from employees", Long.class);
+        return maxId == null ? 0 : maxId;
+    }
+}
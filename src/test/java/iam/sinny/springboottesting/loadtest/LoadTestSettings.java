@@ -0,0 +1,65 @@
+package iam.sinny.springboottesting.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Load test options, read from system properties ({@code -Dloadtest.*} on the Maven command line).
+ *
+ * @param stack           {@code blocking} (Spring MVC + JPA) or {@code reactive} (WebFlux + R2DBC, the "reactive" profile)
+ * @param database        {@code embedded} (H2 in MySQL mode) or {@code mysql} (Testcontainers)
+ * @param rows            employees seeded before the run, 100k to 10M
+ * @param clients         concurrent clients, one virtual thread each
+ * @param warmup          run time discarded before measuring
+ * @param duration        measured run time
+ * @param mix             relative weight of each operation
+ * @param maxP99Millis    SLO: fail when p99 latency is above this
+ * @param minThroughput   SLO: fail when throughput (operations/s) is below this
+ * @param maxErrorRate    fail when the share of failed operations is above this
+ * @param baselineFile    results of a previous run to compare against, if present
+ * @param tolerance       allowed regression against the baseline, e.g. 0.1 for 10%
+ */
+public record LoadTestSettings(String stack,
+                               String database,
+                               long rows,
+                               int clients,
+                               Duration warmup,
+                               Duration duration,
+                               Map<Operation, Integer> mix,
+                               double maxP99Millis,
+                               double minThroughput,
+                               double maxErrorRate,
+                               String baselineFile,
+                               double tolerance) {
+
+    public enum Operation {
+        READ, LIST, CREATE, UPDATE
+    }
+
+    public static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                System.getProperty("loadtest.stack", "blocking"),
+                System.getProperty("loadtest.database", "embedded"),
+                Long.getLong("loadtest.rows", 100_000),
+                Integer.getInteger("loadtest.clients", 64),
+                Duration.parse(System.getProperty("loadtest.warmup", "PT10S")),
+                Duration.parse(System.getProperty("loadtest.duration", "PT30S")),
+                parseMix(System.getProperty("loadtest.mix", "read:90,update:8,create:2")),
+                Double.parseDouble(System.getProperty("loadtest.max-p99-ms", "50")),
+                Double.parseDouble(System.getProperty("loadtest.min-throughput", "500")),
+                Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.001")),
+                System.getProperty("loadtest.baseline", "loadtest-baseline.properties"),
+                Double.parseDouble(System.getProperty("loadtest.tolerance", "0.1")));
+    }
+
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] operationAndWeight = entry.trim().split(":");
+            weights.put(Operation.valueOf(operationAndWeight[0].trim().toUpperCase()),
+                    Integer.parseInt(operationAndWeight[1].trim()));
+        }
+        return weights;
+    }
+}
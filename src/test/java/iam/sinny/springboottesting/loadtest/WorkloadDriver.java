@@ -0,0 +1,166 @@
+package iam.sinny.springboottesting.loadtest;
+
+import iam.sinny.springboottesting.loadtest.LoadTestSettings.Operation;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drives the configured operation mix against the Employee API from many concurrent clients and records the
+ * latency of every operation in an HdrHistogram. Operations completed during warm-up are discarded.
+ */
+public class WorkloadDriver {
+
+    private final LoadTestSettings settings;
+
+    private final HttpClient httpClient;
+
+    private final Operation[] operations;
+
+    private final int[] cumulativeWeights;
+
+    private final AtomicLong emailSequence = new AtomicLong();
+
+    public WorkloadDriver(LoadTestSettings settings) {
+        this.settings = settings;
+        this.httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        this.operations = settings.mix().keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += settings.mix().get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    public Result run(URI baseUri, long maxId) throws InterruptedException {
+        Recorder recorder = new Recorder(3);
+        LongAdder errors = new LongAdder();
+        long start = System.nanoTime();
+        long measureFrom = start + settings.warmup().toNanos();
+        long deadline = measureFrom + settings.duration().toNanos();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int client = 0; client < settings.clients(); client++) {
+                clients.submit(() -> {
+                    long now;
+                    while ((now = System.nanoTime()) < deadline) {
+                        boolean ok = execute(nextOperation(), baseUri, maxId);
+                        long end = System.nanoTime();
+                        if (now >= measureFrom) {
+                            recorder.recordValue(end - now);
+                            if (!ok) {
+                                errors.increment();
+                            }
+                        }
+                    }
+                });
+            }
+
+            TimeUnit.NANOSECONDS.sleep(measureFrom - System.nanoTime());
+            recorder.reset();
+        }
+
+        return new Result(recorder.getIntervalHistogram(), errors.sum(), settings.duration());
+    }
+
+    private Operation nextOperation() {
+        int pick = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private boolean execute(Operation operation, URI baseUri, long maxId) {
+        long id = ThreadLocalRandom.current().nextLong(1, maxId + 1);
+        HttpRequest request = switch (operation) {
+            case READ -> HttpRequest.newBuilder(baseUri.resolve("/api/employees/" + id)).GET().build();
+            case LIST -> HttpRequest.newBuilder(baseUri.resolve("/api/employees")).GET().build();
+            case CREATE -> jsonRequest(baseUri.resolve("/api/employees"), "POST");
+            case UPDATE -> jsonRequest(baseUri.resolve("/api/employees/" + id), "PUT");
+        };
+
+        try {
+            int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            // a random id may hit a row deleted by an earlier run; that is not a server failure
+            return status < 400 || status == 404;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private HttpRequest jsonRequest(URI uri, String method) {
+        long sequence = emailSequence.incrementAndGet();
+        String body = String.format("{\"firstName\":\"load%d\",\"lastName\":\"test%d\",\"email\":\"load%d-%d@loadtest.local\"}",
+                sequence, sequence, System.nanoTime(), sequence);
+        return HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    public record Result(Histogram histogram, long errors, Duration duration) {
+
+        public long operations() {
+            return histogram.getTotalCount();
+        }
+
+        public double throughput() {
+            return operations() / (duration.toNanos() / 1e9);
+        }
+
+        public double errorRate() {
+            return operations() == 0 ? 0 : (double) errors / operations();
+        }
+
+        public double percentileMillis(double percentile) {
+            return histogram.getValueAtPercentile(percentile) / 1e6;
+        }
+
+        public Map<String, String> summary() {
+            return Map.of(
+                    "operations", String.valueOf(operations()),
+                    "errors", String.valueOf(errors),
+                    "throughput", String.format("%.1f", throughput()),
+                    "p50.ms", String.format("%.3f", percentileMillis(50)),
+                    "p90.ms", String.format("%.3f", percentileMillis(90)),
+                    "p99.ms", String.format("%.3f", percentileMillis(99)),
+                    "p999.ms", String.format("%.3f", percentileMillis(99.9)),
+                    "max.ms", String.format("%.3f", histogram.getMaxValue() / 1e6));
+        }
+
+        public void print(PrintStream out) {
+            List<String> lines = new ArrayList<>();
+            summary().forEach((key, value) -> lines.add(key + "=" + value));
+            lines.sort(null);
+            out.println("[loadtest] " + String.join(" ", lines));
+            histogram.outputPercentileDistribution(out, 1e6);
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package iam.sinny.springboottesting.ratelimit;
+
+import iam.sinny.springboottesting.controller.EmployeeController;
+import iam.sinny.springboottesting.controller.EmployeeStatsController;
+import iam.sinny.springboottesting.idempotency.IdempotencyStore;
+import iam.sinny.springboottesting.service.EmployeeService;
+import iam.sinny.springboottesting.service.EmployeeStatsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(value = {EmployeeController.class, EmployeeStatsController.class}, properties = {
+        "spring.datasource.hikari.maximum-pool-size=4",
+        "employees.rate-limit.endpoints.getEmployeeById.capacity=1",
+        "employees.rate-limit.endpoints.getEmployeeById.refill-per-second=0.01",
+        "employees.rate-limit.endpoints.getAllEmployees.pool-share=0.25",
+        "employees.rate-limit.endpoints.countByEmailDomain.capacity=1",
+        "employees.rate-limit.endpoints.countByEmailDomain.refill-per-second=0.01",
+        "employees.rate-limit.endpoints.countByEmailDomain.pool-share=1",
+        "employees.rate-limit.endpoints.countByEmailDomain.connections-per-request=3"
+})
+@Import(IdempotencyStore.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@DisabledInNativeImage
+public class RateLimitInterceptorTests {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    EmployeeService employeeService;
+
+    @Autowired
+    EmployeeStatsService employeeStatsService;
+
+    @TestConfiguration
+    static class TestBeans {
+
+        @Bean
+        EmployeeService employeeService() {
+            return mock(EmployeeService.class);
+        }
+
+        @Bean
+        EmployeeStatsService employeeStatsService() {
+            return mock(EmployeeStatsService.class);
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    //JUnit Test for the per-client rate limit
+    @Test
+    @DisplayName("Reject request over the rate limit with Retry-After")
+    public void givenExhaustedTokenBucket_whenGetEmployeeById_thenReturn429WithRetryAfter() throws Exception {
+        //give - precondition or setup
+        given(employeeService.getEmployeeJsonById(1L)).willReturn(Optional.of("{}".getBytes()));
+        mockMvc.perform(get("/api/employees/{id}", 1L).header("X-Client-Id", "client-1"))
+                .andExpect(status().isOk());
+
+        //when - action or the behaviour that we are test
+        ResultActions response = mockMvc.perform(get("/api/employees/{id}", 1L).header("X-Client-Id", "client-1"));
+
+        //then - verify the output
+        response.andExpect(status().isTooManyRequests())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(header().string("Retry-After", matchesPattern("[1-9][0-9]*")));
+        assertThat(rejected("getEmployeeById", "rate_limit")).isEqualTo(1);
+
+        // buckets are per client
+        mockMvc.perform(get("/api/employees/{id}", 1L).header("X-Client-Id", "client-2"))
+                .andExpect(status().isOk());
+    }
+
+    //JUnit Test for handlers of one route sharing a rate limit
+    @Test
+    @DisplayName("Count JSON and other media types of one route against the same rate limit")
+    public void givenTokenTakenByJsonRead_whenGetEmployeeByIdAsCbor_thenReturn429() throws Exception {
+        //give - precondition or setup
+        given(employeeService.getEmployeeJsonById(1L)).willReturn(Optional.of("{}".getBytes()));
+        mockMvc.perform(get("/api/employees/{id}", 1L).header("X-Client-Id", "client-1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        //when - action or the behaviour that we are test
+        ResultActions response = mockMvc.perform(get("/api/employees/{id}", 1L).header("X-Client-Id", "client-1")
+                .accept(MediaType.parseMediaType("application/cbor")));
+
+        //then - verify the output
+        response.andExpect(status().isTooManyRequests());
+        assertThat(rejected("getEmployeeById", "rate_limit")).isEqualTo(1);
+    }
+
+    //JUnit Test for the per-endpoint bulkhead
+    @Test
+    @DisplayName("Reject request over the endpoint's connection pool share")
+    public void givenBulkheadHeldByRunningRequest_whenGetAllEmployees_thenReturn503() throws Exception {
+        //give - precondition or setup
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        willAnswer(invocation -> {
+            entered.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            invocation.<OutputStream>getArgument(0).write("[]".getBytes());
+            return null;
+        }).given(employeeService).writeAllEmployeesJson(any(OutputStream.class));
+        CompletableFuture<Integer> running = CompletableFuture.supplyAsync(() -> getAllEmployeesStatus("client-1"));
+        assertThat(entered.await(10, TimeUnit.SECONDS)).isTrue();
+
+        //when - action or the behaviour that we are test
+        ResultActions response = mockMvc.perform(get("/api/employees").header("X-Client-Id", "client-2"));
+
+        //then - verify the output
+        response.andExpect(status().isServiceUnavailable())
+                .andDo(MockMvcResultHandlers.print());
+        assertThat(rejected("getAllEmployees", "bulkhead")).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(10, TimeUnit.SECONDS)).isEqualTo(200);
+        // the permit is released when the running request completes
+        assertThat(getAllEmployeesStatus("client-2")).isEqualTo(200);
+    }
+
+    //JUnit Test for the rate limit of the stats endpoints
+    @Test
+    @DisplayName("Reject email-domain stats request over the rate limit")
+    public void givenExhaustedTokenBucket_whenCountByEmailDomain_thenReturn429() throws Exception {
+        //give - precondition or setup
+        given(employeeStatsService.countByEmailDomain()).willReturn(Map.of("gmail.com", 1L));
+        mockMvc.perform(get("/api/employees/stats/email-domains").header("X-Client-Id", "client-1"))
+                .andExpect(status().isOk());
+
+        //when - action or the behaviour that we are test
+        ResultActions response = mockMvc.perform(get("/api/employees/stats/email-domains").header("X-Client-Id", "client-1"));
+
+        //then - verify the output
+        response.andExpect(status().isTooManyRequests())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(header().string("Retry-After", matchesPattern("[1-9][0-9]*")));
+        assertThat(rejected("countByEmailDomain", "rate_limit")).isEqualTo(1);
+    }
+
+    //JUnit Test for a bulkhead of an endpoint holding several connections per request
+    @Test
+    @DisplayName("Take one bulkhead permit per connection the email-domain stats request holds")
+    public void givenRequestHoldingThreeOfFourConnections_whenCountByEmailDomain_thenReturn503() throws Exception {
+        //give - precondition or setup
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        given(employeeStatsService.countByEmailDomain()).willAnswer(invocation -> {
+            entered.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return Map.of("gmail.com", 1L);
+        });
+        CompletableFuture<Integer> running = CompletableFuture.supplyAsync(() -> countByEmailDomainStatus("client-1"));
+        assertThat(entered.await(10, TimeUnit.SECONDS)).isTrue();
+
+        //when - action or the behaviour that we are test
+        ResultActions response = mockMvc.perform(get("/api/employees/stats/email-domains").header("X-Client-Id", "client-2"));
+
+        //then - verify the output
+        response.andExpect(status().isServiceUnavailable())
+                .andDo(MockMvcResultHandlers.print());
+        assertThat(rejected("countByEmailDomain", "bulkhead")).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(10, TimeUnit.SECONDS)).isEqualTo(200);
+        // all three permits are released when the running request completes
+        assertThat(countByEmailDomainStatus("client-3")).isEqualTo(200);
+    }
+
+    private int getAllEmployeesStatus(String client) {
+        return statusOf(get("/api/employees"), client);
+    }
+
+    private int countByEmailDomainStatus(String client) {
+        return statusOf(get("/api/employees/stats/email-domains"), client);
+    }
+
+    private int statusOf(MockHttpServletRequestBuilder request, String client) {
+        try {
+            return mockMvc.perform(request.header("X-Client-Id", client))
+                    .andReturn().getResponse().getStatus();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private double rejected(String endpoint, String reason) {
+        return meterRegistry.get("employees.requests.rejected")
+                .tag("endpoint", endpoint)
+                .tag("reason", reason)
+                .counter()
+                .count();
+    }
+}
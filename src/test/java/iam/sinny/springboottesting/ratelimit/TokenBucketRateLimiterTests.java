@@ -0,0 +1,85 @@
+package iam.sinny.springboottesting.ratelimit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TokenBucketRateLimiterTests {
+
+    AtomicLong clock;
+
+    TokenBucketRateLimiter rateLimiter;
+
+    @BeforeEach
+    public void setup() {
+        clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+        rateLimiter = new TokenBucketRateLimiter(3, 1, clock::get);
+    }
+
+    //JUnit Test for burst capacity
+    @Test
+    @DisplayName("Allow burst up to capacity")
+    public void givenFullBucket_whenBurst_thenAllowCapacityRequests() {
+        //when - action or the behaviour that we are test
+        long first = rateLimiter.tryAcquire("client-a");
+        long second = rateLimiter.tryAcquire("client-a");
+        long third = rateLimiter.tryAcquire("client-a");
+        long fourth = rateLimiter.tryAcquire("client-a");
+
+        //then - verify the output
+        assertThat(first).isZero();
+        assertThat(second).isZero();
+        assertThat(third).isZero();
+        assertThat(fourth).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+        assertThat(rateLimiter.tryAcquire("client-b")).isZero();
+    }
+
+    //JUnit Test for refill
+    @Test
+    @DisplayName("Refill tokens over time")
+    public void givenEmptyBucket_whenTimePasses_thenTokenIsAvailable() {
+        //give - precondition or setup
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("client-a");
+        }
+
+        //when - action or the behaviour that we are test
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        //then - verify the output
+        assertThat(rateLimiter.tryAcquire("client-a")).isZero();
+        assertThat(rateLimiter.tryAcquire("client-a")).isPositive();
+    }
+
+    //JUnit Test for idle eviction
+    @Test
+    @DisplayName("Evict refilled buckets")
+    public void givenIdleClient_whenEvictIdle_thenBucketIsRemoved() {
+        //give - precondition or setup
+        rateLimiter.tryAcquire("client-a");
+
+        //when - action or the behaviour that we are test
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        rateLimiter.evictIdle();
+
+        //then - verify the output
+        assertThat(rateLimiter.size()).isZero();
+    }
+
+    //JUnit Test for limits that cannot be enforced
+    @Test
+    @DisplayName("Reject a refill rate that is zero, negative or too low for the capacity")
+    public void givenInvalidRefillRate_whenCreate_thenThrowsException() {
+        //when - action or the behaviour that we are test
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new TokenBucketRateLimiter(3, 0, clock::get));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new TokenBucketRateLimiter(3, -1, clock::get));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new TokenBucketRateLimiter(100, 1e-9, clock::get));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new TokenBucketRateLimiter(0, 1, clock::get));
+    }
+}
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 
+import java.time.Instant;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -77,4 +78,48 @@ public class EmployeeRepositoryTests {
         //then - verify the output
         assertThat(employeeDB).isNotNull();
     }
-}
\ No newline at end of file
+
+    //JUnit Test for soft delete
+    @Test
+    @DisplayName("Test for soft delete hides employee")
+    public void givenEmployeeObject_whenSoftDeleteById_thenEmployeeIsNotFound() {
+        //give - precondition or setup
+        Employee employee1 = Employee.builder().firstName("sin1").lastName("kang1").email("jlc1@gmail.com").build();
+        Employee employee2 = Employee.builder().firstName("sin2").lastName("kang2").email("jlc2@gmail.com").build();
+        employeeRepository.save(employee1);
+        employeeRepository.save(employee2);
+
+        //when - action or the behaviour that we are test
+        int updated = employeeRepository.softDeleteById(employee1.getId(), Instant.now());
+
+        //then - verify the output
+        assertThat(updated).isEqualTo(1);
+        assertThat(employeeRepository.findById(employee1.getId())).isEmpty();
+        assertThat(employeeRepository.findEmployeeByEmail(employee1.getEmail())).isEmpty();
+        assertThat(employeeRepository.countByEmailIncludingDeleted(employee1.getEmail())).isEqualTo(1);
+        assertThat(employeeRepository.findBynativeSQL("sin1", "kang1")).isNull();
+        assertThat(employeeRepository.findAll()).hasSize(1);
+    }
+
+    //JUnit Test for purge of soft-deleted employees
+    @Test
+    @DisplayName("Test for purge of soft-deleted employees")
+    public void givenSoftDeletedEmployees_whenPurgeByIds_thenRowsAreRemoved() {
+        //give - precondition or setup
+        Employee employee1 = Employee.builder().firstName("sin1").lastName("kang1").email("jlc1@gmail.com").build();
+        Employee employee2 = Employee.builder().firstName("sin2").lastName("kang2").email("jlc2@gmail.com").build();
+        employeeRepository.save(employee1);
+        employeeRepository.save(employee2);
+        employeeRepository.softDeleteById(employee1.getId(), Instant.now().minusSeconds(60));
+
+        //when - action or the behaviour that we are test
+        List<Long> ids = employeeRepository.findSoftDeletedIds(Instant.now(), 10);
+        int purged = employeeRepository.purgeByIds(ids);
+
+        //then - verify the output
+        assertThat(ids).containsExactly(employee1.getId());
+        assertThat(purged).isEqualTo(1);
+        assertThat(employeeRepository.findSoftDeletedIds(Instant.now(), 10)).isEmpty();
+        assertThat(employeeRepository.findAll()).hasSize(1);
+    }
+}
@@ -1,33 +1,59 @@
 package iam.sinny.springboottesting.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import iam.sinny.springboottesting.cache.EmployeeJsonCache;
+import iam.sinny.springboottesting.config.SoftDeleteProperties;
+import iam.sinny.springboottesting.directory.EmployeeDirectory;
 import iam.sinny.springboottesting.exception.ResourceNotFoundException;
 import iam.sinny.springboottesting.model.Employee;
-import iam.sinny.springboottesting.repository.EmployeeRepository;
+import iam.sinny.springboottesting.repository.EmployeeStore;
 import iam.sinny.springboottesting.service.impl.EmployeeServiceImpl;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willDoNothing;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
+@DisabledInNativeImage
 public class EmployeeServiceTests {
 
     @Mock
-    EmployeeRepository employeeRepository;
+    EmployeeStore employeeStore;
+
+    @Mock
+    EmployeeJsonCache employeeJsonCache;
+
+    @Mock
+    SoftDeleteProperties softDeleteProperties;
+
+    @Mock
+    ObjectProvider<EmployeeDirectory> employeeDirectory;
+
+    @Spy
+    ObjectMapper objectMapper = new ObjectMapper();
 
     @InjectMocks
     EmployeeServiceImpl employeeService;
@@ -45,9 +71,9 @@ public class EmployeeServiceTests {
     @DisplayName("Save Employee Test")
     public void givenEmployeeObject_whenSaveEmployee_thenReturnSavedEmployeeObject() {
         //give - precondition or setup
-        given(employeeRepository.findEmployeeByEmail(employee.getEmail())).willReturn(Optional.empty());
+        given(employeeStore.existsByEmailIncludingDeleted(employee.getEmail())).willReturn(false);
 
-        given(employeeRepository.save(employee)).willReturn(employee);
+        given(employeeStore.save(employee)).willReturn(employee);
 
         //when - action or the behaviour that we are test
         Employee savedEmployee = employeeService.saveEmployee(employee);
@@ -61,15 +87,46 @@ public class EmployeeServiceTests {
     @DisplayName("Save Employee Exception Test")
     public void givenExistingEmail_whenSaveEmployee_thenThrowsException() {
         //give - precondition or setup
-        given(employeeRepository.findEmployeeByEmail(employee.getEmail())).willReturn(Optional.of(employee));
+        given(employeeStore.existsByEmailIncludingDeleted(employee.getEmail())).willReturn(true);
 
-        //given(employeeRepository.save(employee)).willReturn(employee);
+        //given(employeeStore.save(employee)).willReturn(employee);
 
         //when - action or the behaviour that we are test
         Assertions.assertThrows(ResourceNotFoundException.class, () -> employeeService.saveEmployee(employee));
 
         //then - verify the output
-        verify(employeeRepository, never()).save(any(Employee.class));
+        verify(employeeStore, never()).save(any(Employee.class));
+    }
+
+    //JUnit Test for saveEmployee losing the race for the unique email index
+    @Test
+    @DisplayName("Save Employee - concurrent duplicate email")
+    public void givenConcurrentSaveOfSameEmail_whenSaveEmployee_thenThrowsResourceNotFoundException() {
+        //give - precondition or setup
+        given(employeeStore.existsByEmailIncludingDeleted(employee.getEmail())).willReturn(false, true);
+        given(employeeStore.save(employee))
+                .willThrow(new DataIntegrityViolationException("Duplicate entry for key 'uk_employees_email'"));
+
+        //when - action or the behaviour that we are test
+        ResourceNotFoundException exception = Assertions.assertThrows(ResourceNotFoundException.class,
+                () -> employeeService.saveEmployee(employee));
+
+        //then - verify the output
+        assertThat(exception).hasCauseInstanceOf(DataIntegrityViolationException.class);
+        verify(employeeDirectory, never()).ifAvailable(any());
+    }
+
+    //JUnit Test for saveEmployee failing on another constraint
+    @Test
+    @DisplayName("Save Employee - other integrity violation")
+    public void givenOtherIntegrityViolation_whenSaveEmployee_thenRethrows() {
+        //give - precondition or setup
+        given(employeeStore.existsByEmailIncludingDeleted(employee.getEmail())).willReturn(false);
+        given(employeeStore.save(employee))
+                .willThrow(new DataIntegrityViolationException("Column 'first_name' cannot be null"));
+
+        //when - action or the behaviour that we are test
+        Assertions.assertThrows(DataIntegrityViolationException.class, () -> employeeService.saveEmployee(employee));
     }
 
     //JUnit Test for Find all Employees
@@ -79,7 +136,7 @@ public class EmployeeServiceTests {
 
         Employee employee2 = Employee.builder().id(2L).firstName("sin2").lastName("kang2").email("jlc2@gmail.com").build();
         //give - precondition or setup
-        given(employeeRepository.findAll()).willReturn(List.of(employee, employee2));
+        given(employeeStore.findAll()).willReturn(List.of(employee, employee2));
 
         //when - action or the behaviour that we are test
         List<Employee> employeeList = employeeService.getAllEmployees();
@@ -94,7 +151,7 @@ public class EmployeeServiceTests {
     public void givenEmptyEmployeeList_whenGetAllEmployees_thenReturnEmptyEmployeeList() {
 
         //give - precondition or setup
-        given(employeeRepository.findAll()).willReturn(Collections.emptyList());
+        given(employeeStore.findAll()).willReturn(Collections.emptyList());
 
         //when - action or the behaviour that we are test
         List<Employee> employeeList = employeeService.getAllEmployees();
@@ -109,7 +166,7 @@ public class EmployeeServiceTests {
     @DisplayName("Get Employee by Id")
     public void givenEmployeeId_whenGetEmployeeId_thenReturnEmployeeObject() {
         //give - precondition or setup
-        given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+        given(employeeStore.findById(1L)).willReturn(Optional.of(employee));
 
         //when - action or the behaviour that we are test
         Employee savedEmployee = employeeService.getEmployeeById(employee.getId()).get();
@@ -124,7 +181,7 @@ public class EmployeeServiceTests {
     @DisplayName("Update Employee")
     public void givenEmployeeObject_whenUpdateemployee_thenReturnEmployeeObject() {
         //give - precondition or setup
-        given(employeeRepository.save(employee)).willReturn(employee);
+        given(employeeStore.save(employee)).willReturn(employee);
         employee.setEmail("test@gmail.com");
         employee.setFirstName("sinny");
 
@@ -134,6 +191,7 @@ public class EmployeeServiceTests {
         //then - verify the output
         assertThat(updatedEmployee.getEmail()).isEqualTo("test@gmail.com");
         assertThat(updatedEmployee.getFirstName()).isEqualTo("sinny");
+        verify(employeeJsonCache, times(1)).invalidate(employee.getId());
     }
 
     //JUnit Test for Delete Employee by Id
@@ -142,12 +200,83 @@ public class EmployeeServiceTests {
     public void givenEmployeeId_whenDeleteEmployee_thenReturnNothing() {
         //give - precondition or setup
         long employeeId = 1L;
-        willDoNothing().given(employeeRepository).deleteById(employeeId);
+        willDoNothing().given(employeeStore).deleteById(employeeId);
 
         //when - action or the behaviour that we are test
         employeeService.deleteEmployee(employeeId);
 
         //then - verify the output
-        verify(employeeRepository, times(1)).deleteById(employeeId);
+        verify(employeeStore, times(1)).deleteById(employeeId);
+        verify(employeeJsonCache, times(1)).invalidate(employeeId);
+    }
+
+    //JUnit Test for soft delete
+    @Test
+    @DisplayName("Soft delete employee by id")
+    public void givenSoftDeleteEnabled_whenDeleteEmployee_thenEmployeeIsSoftDeleted() {
+        //give - precondition or setup
+        long employeeId = 1L;
+        given(softDeleteProperties.isEnabled()).willReturn(true);
+
+        //when - action or the behaviour that we are test
+        employeeService.deleteEmployee(employeeId);
+
+        //then - verify the output
+        verify(employeeStore, times(1)).softDeleteById(eq(employeeId), any(Instant.class));
+        verify(employeeStore, never()).deleteById(anyLong());
+        verify(employeeJsonCache, times(1)).invalidate(employeeId);
+    }
+
+    //JUnit Test for Get Employee JSON served by the directory snapshot
+    @Test
+    @DisplayName("Get Employee JSON by Id from directory")
+    public void givenServingDirectory_whenGetEmployeeJsonById_thenDatabaseIsNotQueried() {
+        //give - precondition or setup
+        EmployeeDirectory directory = mock(EmployeeDirectory.class);
+        byte[] json = "{\"id\":1}".getBytes();
+        given(employeeDirectory.getIfAvailable()).willReturn(directory);
+        given(directory.isServing()).willReturn(true);
+        given(directory.findJsonById(1L)).willReturn(Optional.of(json));
+
+        //when - action or the behaviour that we are test
+        Optional<byte[]> employeeJson = employeeService.getEmployeeJsonById(1L);
+
+        //then - verify the output
+        assertThat(employeeJson).contains(json);
+        verifyNoInteractions(employeeStore, employeeJsonCache);
+    }
+
+    //JUnit Test for writing all employees as JSON from the directory snapshot
+    @Test
+    @DisplayName("Write all employees JSON from directory")
+    public void givenServingDirectory_whenWriteAllEmployeesJson_thenStoredJsonIsWritten() throws IOException {
+        //give - precondition or setup
+        EmployeeDirectory directory = mock(EmployeeDirectory.class);
+        given(employeeDirectory.getIfAvailable()).willReturn(directory);
+        given(directory.isServing()).willReturn(true);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //when - action or the behaviour that we are test
+        employeeService.writeAllEmployeesJson(out);
+
+        //then - verify the output
+        verify(directory, times(1)).writeJsonArray(out);
+        verifyNoInteractions(employeeStore);
+    }
+
+    //JUnit Test for writing all employees as JSON from the database
+    @Test
+    @DisplayName("Write all employees JSON from database")
+    public void givenNoDirectory_whenWriteAllEmployeesJson_thenEmployeesAreSerialized() throws IOException {
+        //give - precondition or setup
+        given(employeeStore.findAll()).willReturn(List.of(employee));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //when - action or the behaviour that we are test
+        employeeService.writeAllEmployeesJson(out);
+
+        //then - verify the output
+        Employee[] employees = objectMapper.readValue(out.toByteArray(), Employee[].class);
+        assertThat(employees).extracting(Employee::getEmail).containsExactly(employee.getEmail());
     }
-}
\ No newline at end of file
+}
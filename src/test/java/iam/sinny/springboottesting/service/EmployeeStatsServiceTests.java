@@ -0,0 +1,112 @@
+package iam.sinny.springboottesting.service;
+
+import iam.sinny.springboottesting.service.impl.EmployeeStatsServiceImpl;
+import iam.sinny.springboottesting.shard.HashShardingStrategy;
+import iam.sinny.springboottesting.shard.ShardResolver;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Aggregations over two embedded H2 databases acting as shards, with slices much smaller than the table.
+ */
+public class EmployeeStatsServiceTests {
+
+    List<DriverManagerDataSource> shards;
+
+    EmployeeStatsService employeeStatsService;
+
+    @BeforeEach
+    public void setup() {
+        String run = UUID.randomUUID().toString();
+        shards = List.of(shard("stats0-" + run), shard("stats1-" + run));
+
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("shardResolver", new ShardResolver(shards, new HashShardingStrategy(2)));
+        employeeStatsService = new EmployeeStatsServiceImpl(shards.get(0),
+                beanFactory.getBeanProvider(ShardResolver.class), 3, 2, 100);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        shards.forEach(shard -> new JdbcTemplate(shard).execute("shutdown"));
+    }
+
+    //JUnit Test for counts grouped by the database
+    @Test
+    @DisplayName("Count employees and group by last-name initial")
+    public void givenEmployeesOnShards_whenCountByLastNameInitial_thenReturnMergedCounts() {
+        //give - precondition or setup
+        insert(0, 1, "sin", "kang", "a@gmail.com");
+        insert(0, 2, "sin", "kim", "b@gmail.com");
+        insert(1, 3, "sin", "lee", "c@naver.com");
+        insert(1, 4, "sin", "Kwon", "d@naver.com");
+
+        //when - action or the behaviour that we are test
+        Map<String, Long> counts = employeeStatsService.countByLastNameInitial();
+
+        //then - verify the output
+        assertThat(counts).containsExactly(Map.entry("K", 3L), Map.entry("L", 1L));
+        assertThat(employeeStatsService.countEmployees()).isEqualTo(4);
+    }
+
+    //JUnit Test for counts computed from id-range slices
+    @Test
+    @DisplayName("Count employees by email domain across slices")
+    public void givenEmployeesOnShards_whenCountByEmailDomain_thenEverySliceIsCounted() {
+        //give - precondition or setup
+        for (long id = 1; id <= 20; id++) {
+            String domain = id % 4 == 0 ? "Naver.com" : "gmail.com";
+            insert((int) (id % 2), id, "first" + id, "last" + id, "employee" + id + "@" + domain);
+        }
+        new JdbcTemplate(shards.get(0)).update("update employees set deleted_at = current_timestamp where id = 2");
+
+        //when - action or the behaviour that we are test
+        Map<String, Long> counts = employeeStatsService.countByEmailDomain();
+
+        //then - verify the output
+        assertThat(counts).containsExactly(Map.entry("gmail.com", 14L), Map.entry("naver.com", 5L));
+    }
+
+    //JUnit Test for slices over sparse ids
+    @Test
+    @DisplayName("Count employees by email domain with large gaps between ids")
+    public void givenSparseIds_whenCountByEmailDomain_thenSlicesFollowTheRows() {
+        //give - precondition or setup
+        long[] ids = {1, 2, 1_000_000_000L, 1_000_000_001L, 5_000_000_000_000L, Long.MAX_VALUE - 1, Long.MAX_VALUE};
+        for (long id : ids) {
+            insert(0, id, "first" + id, "last" + id, "employee" + id + "@gmail.com");
+        }
+        insert(1, 4_000_000_000_000L, "first", "last", "employee@naver.com");
+
+        //when - action or the behaviour that we are test
+        Map<String, Long> counts = employeeStatsService.countByEmailDomain();
+
+        //then - verify the output
+        assertThat(counts).containsExactly(Map.entry("gmail.com", 7L), Map.entry("naver.com", 1L));
+    }
+
+    private void insert(int shard, long id, String firstName, String lastName, String email) {
+        new JdbcTemplate(shards.get(shard)).update(
+                "insert into employees (id, first_name, last_name, email) values (?, ?, ?, ?)",
+                id, firstName, lastName, email);
+    }
+
+    private static DriverManagerDataSource shard(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+        return dataSource;
+    }
+}
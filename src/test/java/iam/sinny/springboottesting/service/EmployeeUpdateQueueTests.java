@@ -0,0 +1,130 @@
+package iam.sinny.springboottesting.service;
+
+import iam.sinny.springboottesting.cache.EmployeeJsonCache;
+import iam.sinny.springboottesting.exception.UpdateQueueFullException;
+import iam.sinny.springboottesting.model.Employee;
+import iam.sinny.springboottesting.model.EmployeeUpdateStatus;
+import iam.sinny.springboottesting.model.EmployeeUpdateTicket;
+import iam.sinny.springboottesting.repository.EmployeeRepository;
+import iam.sinny.springboottesting.service.impl.EmployeeUpdateQueueImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisabledInNativeImage
+public class EmployeeUpdateQueueTests {
+
+    @Mock
+    EmployeeRepository employeeRepository;
+
+    @Mock
+    EmployeeJsonCache employeeJsonCache;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    EmployeeUpdateQueueImpl employeeUpdateQueue;
+
+    Employee employee;
+
+    @BeforeEach
+    public void setup() {
+        employeeUpdateQueue = new EmployeeUpdateQueueImpl(employeeRepository, employeeJsonCache, transactionManager, 2, 10, 100);
+        employee = Employee.builder().id(1L).firstName("sin").lastName("kang").email("jlc488@gmail.com").build();
+    }
+
+    //JUnit Test for coalescing updates of the same employee
+    @Test
+    @DisplayName("Coalesce updates - last writer wins")
+    public void givenTwoUpdatesOfSameEmployee_whenFlush_thenOnlyLastUpdateIsApplied() {
+        //give - precondition or setup
+        given(employeeRepository.findAllById(anyIterable())).willReturn(List.of(employee));
+        Employee first = Employee.builder().firstName("sin1").lastName("kang1").email("s1@gmail.com").build();
+        Employee second = Employee.builder().firstName("sin2").lastName("kang2").email("s2@gmail.com").build();
+
+        //when - action or the behaviour that we are test
+        EmployeeUpdateTicket firstTicket = employeeUpdateQueue.submit(1L, first);
+        EmployeeUpdateTicket secondTicket = employeeUpdateQueue.submit(1L, second);
+        employeeUpdateQueue.flush();
+
+        //then - verify the output
+        assertThat(firstTicket.getStatus()).isEqualTo(EmployeeUpdateStatus.SUPERSEDED);
+        assertThat(secondTicket.getStatus()).isEqualTo(EmployeeUpdateStatus.APPLIED);
+        assertThat(employee.getFirstName()).isEqualTo("sin2");
+        assertThat(employee.getEmail()).isEqualTo("s2@gmail.com");
+        assertThat(employeeUpdateQueue.getTicket(secondTicket.getToken())).contains(secondTicket);
+        verify(employeeJsonCache).invalidate(1L);
+    }
+
+    //JUnit Test for update of a missing employee
+    @Test
+    @DisplayName("Flush update of missing employee")
+    public void givenUnknownEmployeeId_whenFlush_thenTicketIsNotFound() {
+        //give - precondition or setup
+        given(employeeRepository.findAllById(anyIterable())).willReturn(List.of());
+
+        //when - action or the behaviour that we are test
+        EmployeeUpdateTicket ticket = employeeUpdateQueue.submit(42L, employee);
+        employeeUpdateQueue.flush();
+
+        //then - verify the output
+        assertThat(ticket.getStatus()).isEqualTo(EmployeeUpdateStatus.NOT_FOUND);
+    }
+
+    //JUnit Test for backpressure
+    @Test
+    @DisplayName("Reject update when queue is full")
+    public void givenFullQueue_whenSubmit_thenThrowsException() {
+        //give - precondition or setup
+        employeeUpdateQueue.submit(1L, employee);
+        employeeUpdateQueue.submit(2L, employee);
+
+        //when - action or the behaviour that we are test
+        Assertions.assertThrows(UpdateQueueFullException.class, () -> employeeUpdateQueue.submit(3L, employee));
+
+        //then - verify the output
+        assertThat(employeeUpdateQueue.submit(1L, employee).getStatus()).isEqualTo(EmployeeUpdateStatus.QUEUED);
+    }
+
+    //JUnit Test for a batch that fails because of one row
+    @Test
+    @DisplayName("Retry failed batch row by row")
+    public void givenOneBadRowInBatch_whenFlush_thenOnlyBadRowFails() {
+        //give - precondition or setup
+        Employee other = Employee.builder().id(2L).firstName("sin2").lastName("kang2").email("s2@gmail.com").build();
+        given(employeeRepository.findAllById(anyIterable())).willAnswer(invocation -> {
+            List<Long> ids = new ArrayList<>();
+            invocation.<Iterable<Long>>getArgument(0).forEach(ids::add);
+            if (ids.contains(2L)) {
+                throw new DataIntegrityViolationException("Duplicate entry for key 'uk_employees_email'");
+            }
+            return List.of(employee);
+        });
+
+        //when - action or the behaviour that we are test
+        EmployeeUpdateTicket goodTicket = employeeUpdateQueue.submit(1L, employee);
+        EmployeeUpdateTicket badTicket = employeeUpdateQueue.submit(2L, other);
+        employeeUpdateQueue.flush();
+
+        //then - verify the output
+        assertThat(goodTicket.getStatus()).isEqualTo(EmployeeUpdateStatus.APPLIED);
+        assertThat(badTicket.getStatus()).isEqualTo(EmployeeUpdateStatus.FAILED);
+        verify(employeeJsonCache).invalidate(1L);
+    }
+}
@@ -0,0 +1,94 @@
+package iam.sinny.springboottesting.service;
+
+import iam.sinny.springboottesting.config.SoftDeleteProperties;
+import iam.sinny.springboottesting.exception.ResourceNotFoundException;
+import iam.sinny.springboottesting.model.Employee;
+import iam.sinny.springboottesting.repository.ReactiveEmployeeRepository;
+import iam.sinny.springboottesting.service.impl.ReactiveEmployeeServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisabledInNativeImage
+public class ReactiveEmployeeServiceTests {
+
+    @Mock
+    ReactiveEmployeeRepository employeeRepository;
+
+    SoftDeleteProperties softDeleteProperties;
+
+    ReactiveEmployeeService employeeService;
+
+    Employee employee;
+
+    @BeforeEach
+    public void setup() {
+        softDeleteProperties = new SoftDeleteProperties();
+        employeeService = new ReactiveEmployeeServiceImpl(employeeRepository, 256, softDeleteProperties);
+        employee = Employee.builder().firstName("sin").lastName("kang").email("jlc488@gmail.com").build();
+    }
+
+    //JUnit Test for saveEmployee with the email held by a soft-deleted employee
+    @Test
+    @DisplayName("Reject an email still held by a soft-deleted employee")
+    public void givenSoftDeletedEmployeeWithEmail_whenSaveEmployee_thenThrowsException() {
+        //give - precondition or setup
+        given(employeeRepository.countByEmailIncludingDeleted(employee.getEmail())).willReturn(Mono.just(1L));
+
+        //when - action or the behaviour that we are test
+        Mono<Employee> saved = employeeService.saveEmployee(employee);
+
+        //then - verify the output
+        StepVerifier.create(saved).expectError(ResourceNotFoundException.class).verify();
+        verify(employeeRepository, never()).save(any(Employee.class));
+    }
+
+    //JUnit Test for saveEmployee racing with a save of the same email
+    @Test
+    @DisplayName("Report a concurrent save of the same email as already existing")
+    public void givenConcurrentSaveOfSameEmail_whenSaveEmployee_thenThrowsResourceNotFound() {
+        //give - precondition or setup
+        given(employeeRepository.countByEmailIncludingDeleted(employee.getEmail()))
+                .willReturn(Mono.just(0L), Mono.just(1L));
+        given(employeeRepository.save(employee)).willReturn(Mono.error(new DuplicateKeyException("uk_employees_email")));
+
+        //when - action or the behaviour that we are test
+        Mono<Employee> saved = employeeService.saveEmployee(employee);
+
+        //then - verify the output
+        StepVerifier.create(saved).expectError(ResourceNotFoundException.class).verify();
+    }
+
+    //JUnit Test for deleteEmployee in soft-delete mode
+    @Test
+    @DisplayName("Soft delete instead of deleting the row when enabled")
+    public void givenSoftDeleteEnabled_whenDeleteEmployee_thenRowIsMarkedDeleted() {
+        //give - precondition or setup
+        softDeleteProperties.setEnabled(true);
+        given(employeeRepository.softDeleteById(eq(1L), any(LocalDateTime.class))).willReturn(Mono.just(1));
+
+        //when - action or the behaviour that we are test
+        Mono<Void> deleted = employeeService.deleteEmployee(1L);
+
+        //then - verify the output
+        StepVerifier.create(deleted).verifyComplete();
+        verify(employeeRepository, never()).deleteById(anyLong());
+    }
+}
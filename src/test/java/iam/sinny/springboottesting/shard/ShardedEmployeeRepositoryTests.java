@@ -0,0 +1,184 @@
+package iam.sinny.springboottesting.shard;
+
+import iam.sinny.springboottesting.exception.ResourceNotFoundException;
+import iam.sinny.springboottesting.model.Employee;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Three embedded H2 databases acting as shards, migrated with the application's Flyway scripts.
+ */
+public class ShardedEmployeeRepositoryTests {
+
+    static final int SHARDS = 3;
+
+    ShardResolver shardResolver;
+
+    ShardedEmployeeRepository employeeRepository;
+
+    @BeforeEach
+    public void setup() {
+        String run = UUID.randomUUID().toString();
+        List<DriverManagerDataSource> dataSources = new ArrayList<>();
+        for (int i = 0; i < SHARDS; i++) {
+            DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                    "jdbc:h2:mem:shard" + i + "-" + run + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+            Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+            dataSources.add(dataSource);
+        }
+        shardResolver = new ShardResolver(dataSources, new HashShardingStrategy(SHARDS));
+        employeeRepository = new ShardedEmployeeRepository(shardResolver, new EmployeeIdAllocator(dataSources.get(0), 10));
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        employeeRepository.close();
+        for (ShardResolver.Shard shard : shardResolver.all()) {
+            new JdbcTemplate(shard.dataSource()).execute("shutdown");
+        }
+    }
+
+    //JUnit test for save employee
+    @Test
+    @DisplayName("Save employees across shards")
+    public void givenEmployees_whenSave_thenRowsAreSpreadOverShards() {
+        //when - action or the behaviour that we are test
+        List<Employee> savedEmployees = saveEmployees(30);
+
+        //then - verify the output
+        assertThat(savedEmployees).extracting(Employee::getId).doesNotHaveDuplicates().allMatch(id -> id > 0);
+        for (ShardResolver.Shard shard : shardResolver.all()) {
+            Integer rows = new JdbcTemplate(shard.dataSource()).queryForObject("select count(*) from employees", Integer.class);
+            assertThat(rows).as("rows on shard %d", shard.index()).isPositive();
+        }
+        Employee first = savedEmployees.get(0);
+        assertThat(employeeRepository.findById(first.getId())).get()
+                .extracting(Employee::getEmail).isEqualTo(first.getEmail());
+    }
+
+    //JUnit Test for scatter-gather find all
+    @Test
+    @DisplayName("Find all employees from every shard")
+    public void givenEmployeesOnAllShards_whenFindAll_thenReturnMergedListInIdOrder() {
+        //give - precondition or setup
+        List<Employee> savedEmployees = saveEmployees(20);
+
+        //when - action or the behaviour that we are test
+        List<Employee> employees = employeeRepository.findAll();
+
+        //then - verify the output
+        assertThat(employees).hasSize(20);
+        assertThat(employees).extracting(Employee::getId)
+                .containsExactlyElementsOf(savedEmployees.stream().map(Employee::getId).sorted().toList());
+    }
+
+    //JUnit Test for scatter-gather name and email queries
+    @Test
+    @DisplayName("Find employees by name and email across shards")
+    public void givenSameNameOnSeveralShards_whenFindByName_thenReturnAllMatches() {
+        //give - precondition or setup
+        saveEmployees(20);
+        for (int i = 0; i < 6; i++) {
+            employeeRepository.save(Employee.builder().firstName("sin").lastName("kang").email("kang" + i + "@gmail.com").build());
+        }
+
+        //when - action or the behaviour that we are test
+        List<Employee> employees = employeeRepository.findByFirstNameAndLastName("sin", "kang");
+
+        //then - verify the output
+        assertThat(employees).hasSize(6);
+        assertThat(employeeRepository.findEmployeeByEmail("kang3@gmail.com")).isPresent();
+        assertThat(employeeRepository.findEmployeeByEmail("nobody@gmail.com")).isEmpty();
+    }
+
+    //JUnit Test for update and delete routed by id
+    @Test
+    @DisplayName("Update and delete employees on their shard")
+    public void givenSavedEmployee_whenUpdateAndDelete_thenChangesAreVisible() {
+        //give - precondition or setup
+        List<Employee> savedEmployees = saveEmployees(2);
+        Employee updated = savedEmployees.get(0);
+        Employee deleted = savedEmployees.get(1);
+
+        //when - action or the behaviour that we are test
+        updated.setFirstName("sinny");
+        employeeRepository.save(updated);
+        employeeRepository.softDeleteById(deleted.getId(), Instant.now());
+
+        //then - verify the output
+        assertThat(employeeRepository.findById(updated.getId())).get()
+                .extracting(Employee::getFirstName).isEqualTo("sinny");
+        assertThat(employeeRepository.findById(deleted.getId())).isEmpty();
+        assertThat(employeeRepository.findAll()).extracting(Employee::getId).containsExactly(updated.getId());
+    }
+
+    //JUnit Test for update of an employee deleted in the meantime
+    @Test
+    @DisplayName("Update of a deleted employee is not found")
+    public void givenSoftDeletedEmployee_whenSave_thenThrowsResourceNotFoundException() {
+        //give - precondition or setup
+        Employee employee = saveEmployees(1).get(0);
+        employeeRepository.softDeleteById(employee.getId(), Instant.now());
+
+        //when - action or the behaviour that we are test
+        employee.setFirstName("sinny");
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> employeeRepository.save(employee));
+
+        //then - verify the output
+        assertThat(employeeRepository.findById(employee.getId())).isEmpty();
+    }
+
+    //JUnit Test for the cross-shard email check
+    @Test
+    @DisplayName("Email check covers every shard and soft-deleted rows")
+    public void givenEmployeesOnAllShards_whenExistsByEmailIncludingDeleted_thenFindsEveryEmail() {
+        //give - precondition or setup
+        List<Employee> savedEmployees = saveEmployees(10);
+        employeeRepository.softDeleteById(savedEmployees.get(0).getId(), Instant.now());
+
+        //when - action or the behaviour that we are test, then - verify the output
+        assertThat(savedEmployees).allMatch(employee -> employeeRepository.existsByEmailIncludingDeleted(employee.getEmail()));
+        assertThat(employeeRepository.existsByEmailIncludingDeleted("nobody@gmail.com")).isFalse();
+    }
+
+    //JUnit Test for the id sequence seeded from existing rows
+    @Test
+    @DisplayName("Id sequence starts above the existing rows")
+    public void givenRowsBeforeSequenceMigration_whenMigrate_thenSequenceStartsAboveThem() {
+        //give - precondition or setup
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:existing-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").target("2").load().migrate();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("insert into employees (id, first_name, last_name, email) values (41, 'sin', 'kang', 'emp@gmail.com')");
+
+        //when - action or the behaviour that we are test
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+
+        //then - verify the output
+        assertThat(jdbcTemplate.queryForObject("select next_val from employee_id_sequence", Long.class)).isEqualTo(42L);
+        jdbcTemplate.execute("shutdown");
+    }
+
+    private List<Employee> saveEmployees(int count) {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            employees.add(employeeRepository.save(Employee.builder()
+                    .firstName("first" + i).lastName("last" + i).email("employee" + i + "@gmail.com").build()));
+        }
+        return employees;
+    }
+}
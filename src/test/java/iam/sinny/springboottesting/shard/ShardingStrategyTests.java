@@ -0,0 +1,45 @@
+package iam.sinny.springboottesting.shard;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ShardingStrategyTests {
+
+    //JUnit Test for range strategy
+    @Test
+    @DisplayName("Route ids to the shard owning their range")
+    public void givenRangeStrategy_whenShardFor_thenReturnOwningShard() {
+        //give - precondition or setup
+        ShardingStrategy strategy = new RangeShardingStrategy(1, 1_000, 5_000);
+
+        //then - verify the output
+        assertThat(strategy.shardFor(1)).isEqualTo(0);
+        assertThat(strategy.shardFor(999)).isEqualTo(0);
+        assertThat(strategy.shardFor(1_000)).isEqualTo(1);
+        assertThat(strategy.shardFor(4_999)).isEqualTo(1);
+        assertThat(strategy.shardFor(1_000_000)).isEqualTo(2);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> strategy.shardFor(0));
+    }
+
+    //JUnit Test for hash strategy
+    @Test
+    @DisplayName("Spread consecutive ids evenly over shards")
+    public void givenHashStrategy_whenShardForConsecutiveIds_thenIdsAreSpreadEvenly() {
+        //give - precondition or setup
+        ShardingStrategy strategy = new HashShardingStrategy(4);
+        int[] counts = new int[4];
+
+        //when - action or the behaviour that we are test
+        LongStream.rangeClosed(1, 40_000).forEach(id -> counts[strategy.shardFor(id)]++);
+
+        //then - verify the output
+        for (int count : counts) {
+            assertThat(count).isBetween(9_000, 11_000);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package iam.sinny.springboottesting.trace;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+public class SlowestTraceBufferTests {
+
+    @AfterEach
+    public void tearDown() {
+        TraceContext.end();
+    }
+
+    //JUnit Test for span nesting
+    @Test
+    @DisplayName("Record nested spans of a sampled request")
+    public void givenSampledRequest_whenSpansOpenAndClose_thenTraceHasNestedSpans() {
+        //give - precondition or setup
+        RequestTrace trace = TraceContext.begin("POST", "/api/employees");
+
+        //when - action or the behaviour that we are test
+        TraceSpan service = TraceContext.openSpan("service.EmployeeServiceImpl.saveEmployee");
+        TraceSpan repository = TraceContext.openSpan("repository.findEmployeeByEmail");
+        TraceContext.closeSpan(repository);
+        TraceContext.closeSpan(service);
+        TraceContext.end();
+        trace.finish(201);
+
+        //then - verify the output
+        assertThat(trace.getSpans()).extracting(TraceSpan::getName, TraceSpan::getDepth)
+                .containsExactly(
+                        tuple("service.EmployeeServiceImpl.saveEmployee", 0),
+                        tuple("repository.findEmployeeByEmail", 1));
+        assertThat(trace.getSpans()).allMatch(span -> span.getDurationMicros() >= 0);
+        assertThat(TraceContext.isSampled()).isFalse();
+        assertThat(TraceContext.openSpan("not-sampled")).isNull();
+    }
+
+    //JUnit Test for the slowest traces
+    @Test
+    @DisplayName("Keep the slowest traces of the window however many faster ones follow")
+    public void givenSlowTracesFollowedByFastOnes_whenSlowest_thenReturnSlowestFirst() {
+        //give - precondition or setup
+        SlowestTraceBuffer buffer = new SlowestTraceBuffer(2, Duration.ZERO, Duration.ofMinutes(1), new MutableClock());
+        RequestTrace slowest = finishedTrace("/api/employees/slowest", 30);
+        RequestTrace slow = finishedTrace("/api/employees/slow", 20);
+        RequestTrace fast1 = finishedTrace("/api/employees/1", 1);
+        RequestTrace fast2 = finishedTrace("/api/employees/2", 1);
+
+        //when - action or the behaviour that we are test
+        buffer.offer(slowest);
+        buffer.offer(fast1);
+        buffer.offer(slow);
+        buffer.offer(fast2);
+        List<RequestTrace> traces = buffer.slowest(3);
+
+        //then - verify the output
+        assertThat(traces).containsExactly(slowest, slow);
+    }
+
+    //JUnit Test for the time windows
+    @Test
+    @DisplayName("Return the slowest traces of the current and previous window only")
+    public void givenTracesInOlderWindows_whenSlowest_thenOnlyLastTwoWindowsAreReturned() {
+        //give - precondition or setup
+        MutableClock clock = new MutableClock();
+        SlowestTraceBuffer buffer = new SlowestTraceBuffer(2, Duration.ZERO, Duration.ofMinutes(1), clock);
+        RequestTrace oldest = finishedTrace("/api/employees/oldest", 30);
+        RequestTrace previous = finishedTrace("/api/employees/previous", 1);
+        RequestTrace latest = finishedTrace("/api/employees/latest", 1);
+        buffer.offer(oldest);
+        clock.set(Duration.ofSeconds(90));
+        buffer.offer(previous);
+        clock.set(Duration.ofSeconds(150));
+        buffer.offer(latest);
+
+        //when - action or the behaviour that we are test
+        List<RequestTrace> traces = buffer.slowest(3);
+
+        //then - verify the output
+        assertThat(traces).containsExactlyInAnyOrder(previous, latest);
+        clock.set(Duration.ofMinutes(5));
+        assertThat(buffer.slowest(3)).isEmpty();
+    }
+
+    private static RequestTrace finishedTrace(String path, long millis) {
+        RequestTrace trace = new RequestTrace("GET", path);
+        trace.finish(200, Duration.ofMillis(millis).toNanos());
+        return trace;
+    }
+
+    /**
+     * A clock at the epoch plus whatever {@link #set(Duration)} last moved it to.
+     */
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant instant = Instant.EPOCH;
+
+        void set(Duration sinceEpoch) {
+            instant = Instant.EPOCH.plus(sinceEpoch);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}